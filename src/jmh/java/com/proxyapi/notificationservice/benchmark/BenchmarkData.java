@@ -0,0 +1,47 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representative payloads shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final String RECIPIENT_ID = "bench-user-0001";
+
+    private BenchmarkData() {
+    }
+
+    static Notification notification() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000);
+        return Notification.builder()
+                .id(1_234_567L)
+                .title("Your order has shipped")
+                .message("Order #100234 left the warehouse and should arrive within 2-3 business days.")
+                .recipientId(RECIPIENT_ID)
+                .type(Notification.NotificationType.INFO)
+                .status(Notification.NotificationStatus.UNREAD)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    static NotificationDto notificationDto() {
+        return NotificationDto.fromEntity(notification());
+    }
+
+    /**
+     * Configured like the application's mapper: JSR-310 types written as ISO strings.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
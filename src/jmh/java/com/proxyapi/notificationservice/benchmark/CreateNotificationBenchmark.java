@@ -0,0 +1,64 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationService#createNotification} against in-memory H2 with the full application context:
+ * insert, outbox entry, unread counter and the post-commit push hand-off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CreateNotificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationDto template;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "notification.rate-limit.mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.proxyapi=WARN")
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+        template = BenchmarkData.notificationDto();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NotificationDto createNotification() {
+        NotificationDto notification = NotificationDto.builder()
+                .title(template.getTitle())
+                .message(template.getMessage())
+                .recipientId(template.getRecipientId())
+                .type(template.getType())
+                .build();
+        return notificationService.createNotification(notification);
+    }
+}
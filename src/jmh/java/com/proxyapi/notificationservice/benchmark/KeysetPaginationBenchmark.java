@@ -0,0 +1,96 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.dto.NotificationCursor;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSlice;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 20-row page of the listing at increasing depth in a 1M-row table against in-memory H2 with the full
+ * application context: {@code GET /api/v2/notifications?page=} (offset, plus the page count) against
+ * {@code GET /api/v2/notifications/cursor} (keyset). The table holds ten recipients with 100,000
+ * notifications each, so the deepest page skips 80,000 rows of one inbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeysetPaginationBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int RECIPIENTS = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "100", "4000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:keyset-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.proxyapi=WARN")
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+
+        // Bulk-loaded in SQL; going through the service would take minutes. Every row is read (status 1).
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into notifications (id, title, message, recipient_id, status, type, created_at) "
+                + "select x, 'Notification ' || x, 'Benchmark message', "
+                + "'bench-user-' || lpad(cast(mod(x, ?) + 1 as varchar), 4, '0'), 1, 0, "
+                + "dateadd('SECOND', x, timestamp '2024-01-01 00:00:00') "
+                + "from system_range(1, ?)", RECIPIENTS, ROWS);
+        jdbcTemplate.execute("analyze");
+
+        // Keyset position of the row just before the requested page
+        if (page > 0) {
+            NotificationRepository notificationRepository = context.getBean(NotificationRepository.class);
+            Long lastOfPreviousPage = notificationRepository
+                    .findIdPageByRecipientId(BenchmarkData.RECIPIENT_ID, PageRequest.of(page * PAGE_SIZE - 1, 1))
+                    .getContent().get(0);
+            NotificationDto position = notificationRepository.findDtoById(lastOfPreviousPage).orElseThrow();
+            cursor = NotificationCursor.of(position).encode();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<NotificationDto> offsetPage() {
+        return notificationService.getUserNotifications(BenchmarkData.RECIPIENT_ID, PageRequest.of(page, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public NotificationSlice keysetPage() {
+        return notificationService.getUserNotificationSlice(BenchmarkData.RECIPIENT_ID, cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,113 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.service.NotificationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A 20-row listing page and a read by id against in-memory H2 with the full application context, loading
+ * managed entities and mapping them (the read path before DTO projections) against selecting straight into
+ * {@link NotificationDto}s. Half the inbox shares one template, as broadcast rows do. Compare
+ * {@code gc.alloc.rate.norm} as well as throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListingReadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Long id;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:listing-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "notification.rate-limit.mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.proxyapi=WARN")
+                .run();
+        notificationRepository = context.getBean(NotificationRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        NotificationDto template = BenchmarkData.notificationDto();
+        List<NotificationDto> inbox = IntStream.range(0, 200)
+                .mapToObj(i -> NotificationDto.builder()
+                        .title(i % 2 == 0 ? template.getTitle() : template.getTitle() + " " + i)
+                        .message(template.getMessage())
+                        .recipientId(template.getRecipientId())
+                        .type(template.getType())
+                        .build())
+                .collect(Collectors.toList());
+        List<NotificationDto> created = context.getBean(NotificationService.class).createNotifications(inbox);
+        id = created.get(created.size() - 1).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<NotificationDto> pageOfEntities() {
+        return readOnly.execute(tx -> entityManager
+                .createQuery("select n from Notification n where n.recipientId = :recipientId "
+                        + "order by n.createdAt desc, n.id desc", Notification.class)
+                .setParameter("recipientId", BenchmarkData.RECIPIENT_ID)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(NotificationDto::fromEntity)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<NotificationDto> pageOfProjections() {
+        return readOnly.execute(tx ->
+                notificationRepository.findFirstPage(BenchmarkData.RECIPIENT_ID, Limit.of(PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public NotificationDto byIdAsEntity() {
+        return readOnly.execute(tx -> notificationRepository.findById(id).map(NotificationDto::fromEntity).orElseThrow());
+    }
+
+    @Benchmark
+    public NotificationDto byIdAsProjection() {
+        return readOnly.execute(tx -> notificationRepository.findDtoById(id).orElseThrow());
+    }
+}
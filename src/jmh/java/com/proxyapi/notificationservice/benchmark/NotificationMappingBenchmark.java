@@ -0,0 +1,34 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, run once per created or listed notification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotificationMappingBenchmark {
+
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        notification = BenchmarkData.notification();
+    }
+
+    @Benchmark
+    public NotificationDto fromEntity() {
+        return NotificationDto.fromEntity(notification);
+    }
+}
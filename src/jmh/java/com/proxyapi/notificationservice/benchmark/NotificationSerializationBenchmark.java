@@ -0,0 +1,55 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round trip of {@link NotificationDto}, including its {@code LocalDateTime} fields. The write side
+ * is paid on every WebSocket push and REST response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NotificationSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private NotificationDto notification;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        writer = objectMapper.writerFor(NotificationDto.class);
+        reader = objectMapper.readerFor(NotificationDto.class);
+        notification = BenchmarkData.notificationDto();
+        json = writer.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] writeBytes() throws IOException {
+        return writer.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public String writeString() throws IOException {
+        return writer.writeValueAsString(notification);
+    }
+
+    @Benchmark
+    public NotificationDto read() throws IOException {
+        return reader.readValue(json);
+    }
+}
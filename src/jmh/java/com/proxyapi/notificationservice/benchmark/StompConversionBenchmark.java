@@ -0,0 +1,49 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SimpMessagingTemplate#convertAndSend} as used for every push: header setup plus JSON conversion.
+ * The channel only captures the message, so broker routing and socket writes are excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StompConversionBenchmark {
+
+    private static final String DESTINATION = "/topic/notifications/" + BenchmarkData.RECIPIENT_ID;
+
+    private SimpMessagingTemplate messagingTemplate;
+    private NotificationDto notification;
+    private Message<?> sent;
+
+    @Setup
+    public void setUp() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(BenchmarkData.objectMapper());
+        messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            sent = message;
+            return true;
+        });
+        messagingTemplate.setMessageConverter(converter);
+        notification = BenchmarkData.notificationDto();
+    }
+
+    @Benchmark
+    public Message<?> convertAndSend() {
+        messagingTemplate.convertAndSend(DESTINATION, notification);
+        return sent;
+    }
+}
@@ -0,0 +1,103 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.dto.BulkNotificationRequest;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.service.NotificationService;
+import com.proxyapi.notificationservice.service.UnreadCountCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Latency of {@code GET /unread/count} for a recipient with {@code inboxSize} notifications against in-memory
+ * H2 with the full application context: the COUNT query every request ran before {@link UnreadCountCache}
+ * against a cached counter. Half the inbox is unread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UnreadCountBenchmark {
+
+    @Param({"100", "10000"})
+    private int inboxSize;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+    private UnreadCountCache unreadCountCache;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:unread-count-benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "notification.rate-limit.mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.proxyapi=WARN")
+                .run();
+        notificationRepository = context.getBean(NotificationRepository.class);
+        unreadCountCache = context.getBean(UnreadCountCache.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        NotificationDto template = BenchmarkData.notificationDto();
+        List<NotificationDto> inbox = IntStream.range(0, inboxSize)
+                .mapToObj(i -> NotificationDto.builder()
+                        .title(template.getTitle() + " " + i)
+                        .message(template.getMessage())
+                        .recipientId(template.getRecipientId())
+                        .type(template.getType())
+                        .build())
+                .collect(Collectors.toList());
+        NotificationService notificationService = context.getBean(NotificationService.class);
+        for (int from = 0; from < inbox.size(); from += 1_000) {
+            List<NotificationDto> created = notificationService.createNotifications(
+                    inbox.subList(from, Math.min(from + 1_000, inbox.size())));
+            notificationService.markAsRead(BulkNotificationRequest.builder()
+                    .userId(BenchmarkData.RECIPIENT_ID)
+                    .ids(IntStream.range(0, created.size()).filter(i -> i % 2 == 0)
+                            .mapToObj(i -> created.get(i).getId())
+                            .collect(Collectors.toList()))
+                    .build());
+        }
+        unreadCountCache.get(BenchmarkData.RECIPIENT_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long countQuery() {
+        return readOnly.execute(tx -> notificationRepository.countByRecipientIdAndStatus(
+                BenchmarkData.RECIPIENT_ID, Notification.NotificationStatus.UNREAD));
+    }
+
+    @Benchmark
+    public long cachedCount() {
+        return unreadCountCache.get(BenchmarkData.RECIPIENT_ID);
+    }
+}
@@ -0,0 +1,69 @@
+package com.proxyapi.notificationservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.websocket.CompactNotificationCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against the compact binary WebSocket format, both ways. The payload sizes of each format are printed
+ * once per fork; {@code transcode} is the per-push cost paid for a compact subscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private NotificationDto notification;
+    private byte[] json;
+    private byte[] compact;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        writer = objectMapper.writerFor(NotificationDto.class);
+        reader = objectMapper.readerFor(NotificationDto.class);
+        notification = BenchmarkData.notificationDto();
+        json = writer.writeValueAsBytes(notification);
+        compact = CompactNotificationCodec.encode(notification);
+        System.out.printf("Bytes per message: json=%d compact=%d%n", json.length, compact.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return writer.writeValueAsBytes(notification);
+    }
+
+    @Benchmark
+    public byte[] writeCompact() {
+        return CompactNotificationCodec.encode(notification);
+    }
+
+    @Benchmark
+    public NotificationDto readJson() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public NotificationDto readCompact() {
+        return CompactNotificationCodec.decode(compact);
+    }
+
+    @Benchmark
+    public byte[] transcode() throws IOException {
+        return CompactNotificationCodec.encode(reader.readValue(json));
+    }
+}
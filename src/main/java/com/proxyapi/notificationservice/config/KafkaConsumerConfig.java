@@ -0,0 +1,47 @@
+package com.proxyapi.notificationservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+@Configuration
+@ConditionalOnProperty(prefix = "notification.kafka", name = "enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+    /**
+     * Batch listener factory for notification ingestion. Offsets are committed manually, and only after
+     * the whole batch has been persisted. A failed batch is redelivered with exponential backoff for up to
+     * {@code notification.kafka.retry-max-elapsed}; only then are its records published to
+     * {@code <topic>.DLT} and their offsets committed, so a failed insert is never dropped.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> notificationBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            KafkaOperations<?, ?> kafkaOperations,
+            NotificationProperties properties) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.getKafka().getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(errorHandler(kafkaOperations, properties.getKafka()));
+        return factory;
+    }
+
+    private static DefaultErrorHandler errorHandler(KafkaOperations<?, ?> kafkaOperations,
+                                                    NotificationProperties.Kafka settings) {
+        ExponentialBackOff backOff = new ExponentialBackOff(settings.getRetryInitialInterval().toMillis(), 2.0);
+        backOff.setMaxInterval(settings.getRetryMaxInterval().toMillis());
+        backOff.setMaxElapsedTime(settings.getRetryMaxElapsed().toMillis());
+        return new DefaultErrorHandler(new DeadLetterPublishingRecoverer(kafkaOperations), backOff);
+    }
+}
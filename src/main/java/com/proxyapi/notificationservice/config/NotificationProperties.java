@@ -0,0 +1,423 @@
+package com.proxyapi.notificationservice.config;
+
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.websocket.SlowConsumerInterceptor;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tunables for the notification pipeline, bound from the {@code notification.*} namespace.
+ */
+@Data
+@ConfigurationProperties(prefix = "notification")
+public class NotificationProperties {
+
+    private final Batch batch = new Batch();
+    private final Listing listing = new Listing();
+    private final Outbox outbox = new Outbox();
+    private final Kafka kafka = new Kafka();
+    private final UnreadCounts unreadCounts = new UnreadCounts();
+    private final UnreadPush unreadPush = new UnreadPush();
+    private final WebSocket websocket = new WebSocket();
+    private final Cluster cluster = new Cluster();
+    private final Threads threads = new Threads();
+    private final Delivery delivery = new Delivery();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Idempotency idempotency = new Idempotency();
+    private final Cache cache = new Cache();
+    private final Retention retention = new Retention();
+    private final Schema schema = new Schema();
+
+    @Data
+    public static class Batch {
+        /**
+         * Number of rows written per JDBC batch. Keep in sync with {@code hibernate.jdbc.batch_size}.
+         */
+        private int size = 500;
+
+        /**
+         * Upper bound on the number of notifications accepted by a single bulk create request.
+         */
+        private int maxRequestSize = 10_000;
+    }
+
+    @Data
+    public static class Listing {
+        /**
+         * Hard cap on the number of notifications returned by the unpaginated v1 listing.
+         */
+        private int legacyMaxResults = 1_000;
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Threads pushing committed notifications to the message broker.
+         */
+        private int dispatchThreads = 4;
+
+        /**
+         * Pending push batches buffered before new work is left to the poller.
+         */
+        private int queueCapacity = 1_000;
+
+        /**
+         * How often delivered entries are purged and stale entries are redelivered.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Age after which an undelivered entry is considered lost and redelivered by the poller.
+         */
+        private Duration redeliveryDelay = Duration.ofSeconds(10);
+
+        /**
+         * Entries handled per dispatch task and per poll.
+         */
+        private int pollBatchSize = 500;
+    }
+
+    @Data
+    public static class Kafka {
+        /**
+         * Whether to consume notification events from Kafka.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Topic carrying {@code NotificationDto} JSON events.
+         */
+        private String topic = "notification-events";
+
+        /**
+         * Consumer threads; each owns a share of the topic's partitions.
+         */
+        private int concurrency = 3;
+
+        /**
+         * First delay before a failed batch is redelivered; doubles on each further failure.
+         */
+        private Duration retryInitialInterval = Duration.ofSeconds(1);
+
+        /**
+         * Longest delay between redeliveries of a failed batch.
+         */
+        private Duration retryMaxInterval = Duration.ofSeconds(30);
+
+        /**
+         * How long a failing batch is retried before its records are published to {@code <topic>.DLT} and
+         * their offsets committed.
+         */
+        private Duration retryMaxElapsed = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class UnreadCounts {
+        /**
+         * Maximum number of recipients with a cached unread counter.
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * Counters not read for this long expire and are re-seeded on the next read.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(30);
+
+        /**
+         * How often cached counters are reset to the database count.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(1);
+
+        /**
+         * Recipients per grouped COUNT query, when reconciling counters and when pushing counts of recipients
+         * that are not cached.
+         */
+        private int reconcileBatchSize = 500;
+    }
+
+    @Data
+    public static class UnreadPush {
+        /**
+         * Whether unread-count changes are pushed over WebSocket.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Changes for the same user within this window are coalesced into one frame.
+         */
+        private Duration window = Duration.ofMillis(50);
+    }
+
+    @Data
+    public static class WebSocket {
+        private final Inbound inbound = new Inbound();
+        private final Outbound outbound = new Outbound();
+        private final Transport transport = new Transport();
+        private final SlowConsumer slowConsumer = new SlowConsumer();
+        private final Replay replay = new Replay();
+        private final Compact compact = new Compact();
+
+        @Data
+        public static class Inbound {
+            /**
+             * Threads handling frames received from clients (CONNECT, SUBSCRIBE, SEND).
+             */
+            private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+            private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+
+            private int queueCapacity = 10_000;
+        }
+
+        @Data
+        public static class Outbound {
+            /**
+             * Platform threads writing frames to clients; each session is written by one of them at a time.
+             * Ignored with virtual threads, which start one per session with frames waiting.
+             */
+            private int workers = Runtime.getRuntime().availableProcessors() * 2;
+
+            /**
+             * Frames buffered per session before sends to it are rejected.
+             */
+            private int sessionQueueCapacity = 1_000;
+        }
+
+        @Data
+        public static class Transport {
+            /**
+             * Longest a single send may block before the session is closed. Enforced by the {@code terminate}
+             * slow-consumer policy.
+             */
+            private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+            /**
+             * Bytes queued per session while a send is in progress before the session is closed. Enforced by the
+             * {@code terminate} slow-consumer policy.
+             */
+            private int sendBufferSizeLimit = 512 * 1024;
+        }
+
+        @Data
+        public static class SlowConsumer {
+            /**
+             * What to do with sessions whose outbound backlog reaches the high watermark.
+             */
+            private SlowConsumerInterceptor.Policy policy = SlowConsumerInterceptor.Policy.COALESCE;
+
+            /**
+             * Queued frames per session above which notification frames are coalesced.
+             */
+            private int highWatermark = 100;
+
+            /**
+             * Queued frames per session at or below which the summary frame is sent.
+             */
+            private int lowWatermark = 10;
+        }
+
+        @Data
+        public static class Replay {
+            /**
+             * Whether recent notifications are buffered for clients resubscribing with a {@code lastSeenId} header.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Notifications buffered per destination, and the most replayed on one subscribe.
+             */
+            private int bufferSize = 100;
+
+            /**
+             * Total size of buffered payloads across destinations; the least used ones are evicted beyond it.
+             */
+            private DataSize maxMemory = DataSize.ofMegabytes(64);
+        }
+
+        @Data
+        public static class Compact {
+            /**
+             * Whether subscriptions may negotiate the binary notification format with an {@code accept} header.
+             */
+            private boolean enabled = true;
+        }
+    }
+
+    @Data
+    public static class Cluster {
+        /**
+         * {@code local} delivers to this node's broker only; {@code kafka} fans out through a topic so
+         * clients connected to any node receive the message.
+         */
+        private Mode mode = Mode.LOCAL;
+
+        /**
+         * Topic carrying fan-out messages in {@code kafka} mode.
+         */
+        private String topic = "notification-fanout";
+
+        /**
+         * Identifies this node's consumer group. Must be unique per running node, or nodes sharing it split the
+         * topic between them and miss each other's messages, and stable across its restarts, so a restarted
+         * node resumes its group instead of leaving an orphaned one behind. No default can guarantee both, so
+         * {@code kafka} mode refuses to start without it.
+         */
+        private String nodeId;
+
+        public enum Mode {
+            LOCAL, KAFKA
+        }
+    }
+
+    @Data
+    public static class Threads {
+        /**
+         * Run servlet requests, the STOMP channels and outbox dispatch on virtual threads. Requires Java 21.
+         */
+        private boolean virtual = false;
+
+        /**
+         * Connections that may be checked out of the pool at once in virtual mode; waiting threads park on a
+         * semaphore instead of queueing inside the pool. {@code 0} uses the Hikari maximum pool size.
+         */
+        private int dbPermits = 0;
+
+        /**
+         * How long a thread waits for a database permit before the request fails.
+         */
+        private Duration dbAcquireTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Delivery {
+        /**
+         * Workers draining the per-type queues into the fan-out.
+         */
+        private int threads = 4;
+
+        /**
+         * Pushes buffered per notification type; beyond that they are left to the outbox poller.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Pushes taken from each type's queue per dispatch round while it has work.
+         */
+        private Map<Notification.NotificationType, Integer> weights = new EnumMap<>(Map.of(
+                Notification.NotificationType.ERROR, 8,
+                Notification.NotificationType.WARNING, 4,
+                Notification.NotificationType.SUCCESS, 2,
+                Notification.NotificationType.INFO, 1));
+
+        /**
+         * Maximum pushes per second for a type; types not listed are not limited.
+         */
+        private Map<Notification.NotificationType, Integer> rateLimits = new EnumMap<>(Notification.NotificationType.class);
+    }
+
+    @Data
+    public static class RateLimit {
+        /**
+         * {@code off} accepts everything; {@code digest} folds notifications over the limit into a periodic
+         * summary notification; {@code strict} rejects them with 429.
+         */
+        private Mode mode = Mode.OFF;
+
+        /**
+         * Sustained notifications per second accepted for one recipient.
+         */
+        private double ratePerSecond = 10;
+
+        /**
+         * Notifications a recipient can receive in a burst above the sustained rate.
+         */
+        private int burst = 50;
+
+        /**
+         * Maximum number of recipients tracked; buckets idle long enough to refill expire on their own.
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * How often folded notifications are turned into digest notifications.
+         */
+        private Duration digestInterval = Duration.ofMinutes(1);
+
+        public enum Mode {
+            OFF, DIGEST, STRICT
+        }
+    }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * Maximum number of recently created keys answered from memory.
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * How long a key is answered from memory; older retries are answered from the database.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * Whether single notifications read by id are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached notifications.
+         */
+        private int maxEntries = 10_000;
+
+        /**
+         * How long a cached notification is served; also bounds how stale another node's copy can be.
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Retention {
+        /**
+         * Whether the retention job runs. Off by default because it deletes data.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Read notifications older than this are archived.
+         */
+        private Duration archiveAfter = Duration.ofDays(30);
+
+        /**
+         * Notifications older than this are deleted, whatever their status.
+         */
+        private Duration deleteAfter = Duration.ofDays(180);
+
+        /**
+         * Rows archived or deleted per transaction.
+         */
+        private int chunkSize = 1_000;
+
+        /**
+         * Delay between retention runs.
+         */
+        private Duration interval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Schema {
+        /**
+         * Convert a PostgreSQL database created by an earlier release to the current layout on startup, before
+         * Hibernate updates the schema. Turn off when schema changes are applied by hand or by a migration tool.
+         */
+        private boolean upgrade = true;
+    }
+}
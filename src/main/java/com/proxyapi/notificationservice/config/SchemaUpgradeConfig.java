@@ -0,0 +1,58 @@
+package com.proxyapi.notificationservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Brings an existing PostgreSQL schema forward to the current storage layout on startup.
+ * {@code ddl-auto: update} only adds tables and columns, so a database created by an earlier release would
+ * otherwise keep enum names in {@code status} and {@code type} and fail on the first read.
+ * <p>
+ * Boot runs script initializers before the JPA entity manager factory, so
+ * {@code db/postgresql/normalize-notifications.sql} has converted the old columns by the time Hibernate
+ * validates or updates the schema. The script only touches what is still in the old layout. Other databases
+ * are skipped: the bundled H2 database is in-memory and always starts empty.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.schema", name = "upgrade", havingValue = "true", matchIfMissing = true)
+public class SchemaUpgradeConfig {
+
+    private static final String UPGRADE_SCRIPT = "classpath:db/postgresql/normalize-notifications.sql";
+
+    @Bean
+    public DataSourceScriptDatabaseInitializer notificationSchemaUpgrade(DataSource dataSource) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of(UPGRADE_SCRIPT));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        // Sent as one statement: the driver splits it itself and understands the dollar-quoted blocks
+        settings.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings) {
+            @Override
+            public boolean initializeDatabase() {
+                return isPostgreSql(dataSource) && super.initializeDatabase();
+            }
+        };
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return DatabaseDriver.fromProductName(productName) == DatabaseDriver.POSTGRESQL;
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Failed to determine the database to upgrade", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.proxyapi.notificationservice.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the service's own executors, honouring {@code notification.threads.virtual}.
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * Named virtual threads when {@code notification.threads.virtual} is set, platform threads otherwise.
+     * Fails on JVMs older than 21 if virtual threads are requested.
+     */
+    public static ThreadFactory create(String threadNamePrefix, NotificationProperties properties) {
+        if (properties.getThreads().isVirtual()) {
+            return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(threadNamePrefix);
+    }
+}
@@ -0,0 +1,50 @@
+package com.proxyapi.notificationservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wiring for {@code notification.threads.virtual=true}, which {@code application.yml} maps onto Boot's
+ * {@code spring.threads.virtual.enabled}: Boot runs Tomcat requests, scheduling and the application task
+ * executor on virtual threads, and this limits pool checkouts with a semaphore so the unbounded request
+ * concurrency does not pile up inside the connection pool. The service's own executors pick their threads
+ * through {@link ThreadFactories}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor permitLimitedDataSourceInstaller(ObjectProvider<NotificationProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof PermitLimitedDataSource) {
+                    return bean;
+                }
+                NotificationProperties.Threads threads = properties.getObject().getThreads();
+                return new PermitLimitedDataSource(dataSource, permits(dataSource, threads),
+                        threads.getDbAcquireTimeout());
+            }
+        };
+    }
+
+    /**
+     * Configured permits, or the pool size so threads wait on the semaphore rather than in the pool.
+     */
+    static int permits(DataSource dataSource, NotificationProperties.Threads threads) {
+        if (threads.getDbPermits() > 0) {
+            return threads.getDbPermits();
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return 10;
+    }
+}
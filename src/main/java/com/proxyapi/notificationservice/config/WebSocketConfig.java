@@ -1,15 +1,47 @@
 package com.proxyapi.notificationservice.config;
 
+import com.proxyapi.notificationservice.websocket.CompactFormatInterceptor;
+import com.proxyapi.notificationservice.websocket.CompactNotificationMessageConverter;
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import com.proxyapi.notificationservice.websocket.ReplayInterceptor;
+import com.proxyapi.notificationservice.websocket.SessionOrderedExecutor;
+import com.proxyapi.notificationservice.websocket.SlowConsumerInterceptor;
+import com.proxyapi.notificationservice.websocket.WebSocketMetrics;
+import com.proxyapi.notificationservice.websocket.WebSocketSessionTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final NotificationProperties properties;
+    private final SlowConsumerInterceptor slowConsumerInterceptor;
+    private final ReplayInterceptor replayInterceptor;
+    private final CompactFormatInterceptor compactFormatInterceptor;
+    private final WebSocketSessionTracker sessionTracker;
+    private final MeterRegistry meterRegistry;
+    private final SimpleAsyncTaskExecutorBuilder simpleAsyncTaskExecutorBuilder;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple message broker to carry the messages back to the client on destinations prefixed with /topic
@@ -27,4 +59,81 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(replayInterceptor, compactFormatInterceptor);
+        if (properties.getThreads().isVirtual()) {
+            // Handlers may block on the database; park them on a virtual thread each instead of a bounded pool.
+            // Boot's builder creates virtual threads under spring.threads.virtual.enabled.
+            registration.executor(simpleAsyncTaskExecutorBuilder.threadNamePrefix("ws-inbound-").build());
+            return;
+        }
+        NotificationProperties.WebSocket.Inbound inbound = properties.getWebsocket().getInbound();
+        registration.taskExecutor()
+                .corePoolSize(inbound.getCorePoolSize())
+                .maxPoolSize(inbound.getMaxPoolSize())
+                .queueCapacity(inbound.getQueueCapacity());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(outboundExecutor())
+                .interceptors(slowConsumerInterceptor, compactFormatInterceptor, webSocketMetrics());
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Only matches frames with the compact content type; the defaults still handle JSON
+        messageConverters.add(new CompactNotificationMessageConverter());
+        return true;
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        NotificationProperties.WebSocket.Transport transport = properties.getWebsocket().getTransport();
+        registration.setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit(transport.getSendBufferSizeLimit())
+                .addDecoratorFactory(sessionTracker);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public SessionOrderedExecutor outboundExecutor() {
+        NotificationProperties.WebSocket.Outbound outbound = properties.getWebsocket().getOutbound();
+        // A stalled socket holds its worker until the slow-consumer policy closes it; virtual threads are cheap
+        // enough to give every session with frames waiting its own
+        Executor workers = properties.getThreads().isVirtual()
+                ? new VirtualThreadTaskExecutor("ws-outbound-")
+                : Executors.newFixedThreadPool(outbound.getWorkers(),
+                        ThreadFactories.create("ws-outbound-", properties));
+        return new SessionOrderedExecutor(workers, outbound.getSessionQueueCapacity());
+    }
+
+    @Bean
+    public DestinationIndexedSubscriptionRegistry subscriptionRegistry() {
+        return new DestinationIndexedSubscriptionRegistry();
+    }
+
+    @Bean
+    public WebSocketMetrics webSocketMetrics() {
+        return new WebSocketMetrics(subscriptionRegistry(), meterRegistry);
+    }
+
+    /**
+     * Swaps the simple broker's default registry, which scans every subscription on each send, for the
+     * destination-indexed one.
+     */
+    @Bean
+    public static BeanPostProcessor subscriptionRegistryInstaller(
+            ObjectProvider<DestinationIndexedSubscriptionRegistry> subscriptionRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleBrokerMessageHandler brokerHandler) {
+                    brokerHandler.setSubscriptionRegistry(subscriptionRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
 }
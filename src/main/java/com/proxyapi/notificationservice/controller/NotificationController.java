@@ -46,7 +46,9 @@ public class NotificationController {
 
     @PostMapping
     public ResponseEntity<NotificationDto> createNotification(@Valid @RequestBody NotificationDto notificationDto) {
-        return ResponseEntity.ok(notificationService.createNotification(notificationDto));
+        NotificationDto created = notificationService.createNotification(notificationDto);
+        // No id: the recipient is over its rate limit and the notification was folded into a digest
+        return created.getId() != null ? ResponseEntity.ok(created) : ResponseEntity.accepted().body(created);
     }
 
     @PutMapping("/{id}/read")
@@ -1,17 +1,35 @@
 package com.proxyapi.notificationservice.controller.v2;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.proxyapi.notificationservice.dto.BroadcastRequest;
+import com.proxyapi.notificationservice.dto.BroadcastResult;
+import com.proxyapi.notificationservice.dto.BulkNotificationRequest;
 import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSlice;
+import com.proxyapi.notificationservice.exception.InvalidRequestException;
 import com.proxyapi.notificationservice.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,7 +42,10 @@ import java.util.Map;
 @Tag(name = "Notifications V2", description = "Version 2 of the Notification API")
 public class NotificationControllerV2 {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "Get paginated notifications for a user")
@@ -34,10 +55,43 @@ public class NotificationControllerV2 {
         return ResponseEntity.ok(notificationService.getUserNotifications(userId, pageable));
     }
 
-    @GetMapping("/{id}")
+    @GetMapping("/cursor")
+    @Operation(summary = "Get notifications for a user using keyset (cursor) pagination")
+    public ResponseEntity<NotificationSlice> getUserNotificationSlice(
+            @RequestParam String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(notificationService.getUserNotificationSlice(userId, cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all notifications for a user as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUserNotifications(@RequestParam String userId) {
+        ObjectWriter writer = objectMapper.writerFor(NotificationDto.class);
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter lines = writer.withRootValueSeparator("\n").writeValues(outputStream)) {
+                notificationService.streamUserNotifications(userId, notification -> {
+                    try {
+                        lines.write(notification);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get a specific notification by ID")
-    public ResponseEntity<NotificationDto> getNotification(@PathVariable Long id) {
-        return ResponseEntity.ok(notificationService.getNotificationById(id));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = NotificationDto.class)))
+    public ResponseEntity<byte[]> getNotification(@PathVariable Long id) {
+        // Cached notifications are kept serialized, so the body is written as is
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(notificationService.getNotificationJsonById(id));
     }
 
     @GetMapping("/unread/count")
@@ -51,8 +105,38 @@ public class NotificationControllerV2 {
     @PostMapping
     @Operation(summary = "Create a new notification")
     public ResponseEntity<NotificationDto> createNotification(
-            @Valid @RequestBody NotificationDto notificationDto) {
-        return ResponseEntity.ok(notificationService.createNotification(notificationDto));
+            @Valid @RequestBody NotificationDto notificationDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            notificationDto.setDedupKey(resolveDedupKey(notificationDto.getDedupKey(), idempotencyKey));
+        }
+        NotificationDto created = notificationService.createNotification(notificationDto);
+        // No id: the recipient is over its rate limit and the notification was folded into a digest
+        return created.getId() != null ? ResponseEntity.ok(created) : ResponseEntity.accepted().body(created);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create notifications in bulk")
+    public ResponseEntity<List<NotificationDto>> createNotifications(
+            @RequestBody List<@Valid NotificationDto> notificationDtos) {
+        return ResponseEntity.ok(notificationService.createNotifications(notificationDtos));
+    }
+
+    @PostMapping("/broadcast")
+    @Operation(summary = "Send one notification to a list of users or a named group")
+    public ResponseEntity<BroadcastResult> broadcast(
+            @Valid @RequestBody BroadcastRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            request.setDedupKey(resolveDedupKey(request.getDedupKey(), idempotencyKey));
+        }
+        return ResponseEntity.ok(notificationService.broadcast(request));
+    }
+
+    @PatchMapping("/read")
+    @Operation(summary = "Mark several notifications of a user as read")
+    public ResponseEntity<Map<String, Integer>> markAsRead(@Valid @RequestBody BulkNotificationRequest request) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAsRead(request)));
     }
 
     @PatchMapping("/{id}/read")
@@ -62,10 +146,26 @@ public class NotificationControllerV2 {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping
+    @Operation(summary = "Delete several notifications of a user")
+    public ResponseEntity<Map<String, Integer>> deleteNotifications(@Valid @RequestBody BulkNotificationRequest request) {
+        return ResponseEntity.ok(Map.of("deleted", notificationService.deleteNotifications(request)));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a notification")
     public ResponseEntity<Void> deleteNotification(@PathVariable Long id) {
         notificationService.deleteNotification(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String resolveDedupKey(String dedupKey, String idempotencyKey) {
+        if (idempotencyKey.length() > 128) {
+            throw new InvalidRequestException(IDEMPOTENCY_KEY_HEADER + " must be at most 128 characters");
+        }
+        if (dedupKey != null && !dedupKey.equals(idempotencyKey)) {
+            throw new InvalidRequestException(IDEMPOTENCY_KEY_HEADER + " header and dedupKey differ");
+        }
+        return idempotencyKey;
+    }
 }
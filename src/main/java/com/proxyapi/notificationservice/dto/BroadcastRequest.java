@@ -0,0 +1,46 @@
+package com.proxyapi.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.proxyapi.notificationservice.model.Notification;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One notification for many recipients: either those listed in {@code recipientIds} or every member of the
+ * named {@code group}. Exactly one of the two must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastRequest {
+    @NotBlank
+    private String title;
+    @NotBlank
+    private String message;
+    @NotNull
+    private Notification.NotificationType type;
+    @Size(max = 10_000)
+    private List<@NotBlank String> recipientIds;
+    private String group;
+    /**
+     * Optional idempotency key, stored on each recipient's notification; a retried broadcast with the same key
+     * skips the recipients that already have it.
+     */
+    @Size(max = 128)
+    private String dedupKey;
+
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of recipientIds or group must be provided")
+    public boolean isAudienceValid() {
+        return (recipientIds != null && !recipientIds.isEmpty()) != (group != null && !group.isBlank());
+    }
+}
@@ -0,0 +1,16 @@
+package com.proxyapi.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a broadcast: the template holding its text and how many recipients this request notified.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastResult {
+    private Long templateId;
+    private long recipients;
+}
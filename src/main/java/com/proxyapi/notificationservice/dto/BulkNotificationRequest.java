@@ -0,0 +1,35 @@
+package com.proxyapi.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects a user's notifications for a bulk operation, either by id or as everything created before a
+ * point in time. Exactly one of {@code ids} and {@code before} must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNotificationRequest {
+    @NotBlank
+    private String userId;
+    @Size(max = 10_000)
+    private List<Long> ids;
+    private LocalDateTime before;
+
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of ids or before must be provided")
+    public boolean isSelectionValid() {
+        return (ids != null && !ids.isEmpty()) != (before != null);
+    }
+}
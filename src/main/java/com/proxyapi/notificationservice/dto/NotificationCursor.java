@@ -0,0 +1,40 @@
+package com.proxyapi.notificationservice.dto;
+
+import com.proxyapi.notificationservice.exception.InvalidRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a recipient's notification list, ordered by {@code createdAt desc, id desc}.
+ * Serialized as an opaque URL-safe token so clients do not depend on its contents.
+ */
+@Value
+public class NotificationCursor {
+    LocalDateTime createdAt;
+    Long id;
+
+    public static NotificationCursor of(NotificationDto notification) {
+        return new NotificationCursor(notification.getCreatedAt(), notification.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new NotificationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.proxyapi.notificationservice.dto;
 
 import com.proxyapi.notificationservice.model.Notification;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,13 +17,22 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class NotificationDto {
     private Long id;
+    @NotBlank
     private String title;
+    @NotBlank
     private String message;
+    @NotBlank
     private String recipientId;
     private Notification.NotificationStatus status;
+    @NotNull
     private Notification.NotificationType type;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /**
+     * Optional idempotency key; a retried create with the same key and recipient returns the original.
+     */
+    @Size(max = 128)
+    private String dedupKey;
 
     public static NotificationDto fromEntity(Notification notification) {
         return NotificationDto.builder()
@@ -32,6 +44,7 @@ public class NotificationDto {
                 .type(notification.getType())
                 .createdAt(notification.getCreatedAt())
                 .updatedAt(notification.getUpdatedAt())
+                .dedupKey(notification.getDedupKey())
                 .build();
     }
 }
@@ -0,0 +1,20 @@
+package com.proxyapi.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back to fetch the following page;
+ * it is {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSlice {
+    private List<NotificationDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
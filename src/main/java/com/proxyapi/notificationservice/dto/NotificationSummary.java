@@ -0,0 +1,17 @@
+package com.proxyapi.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sent in place of individual notifications to a client that could not keep up. The frame carries the
+ * {@code x-notification-summary} header; clients should re-fetch their inbox on receipt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSummary {
+    private int missedCount;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.proxyapi.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pushed on {@code /topic/notifications/{userId}/unread} when a user's unread count changes.
+ * {@code delta} is the net change since the previous frame.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountUpdate {
+    private long unreadCount;
+    private long delta;
+}
@@ -0,0 +1,11 @@
+package com.proxyapi.notificationservice.exception;
+
+/**
+ * A request the client has to change before retrying, such as an unreadable cursor or a batch over the size
+ * limit. Mapped to 400; other runtime exceptions are server errors.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,143 @@
+package com.proxyapi.notificationservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.websocket.CompactPayload;
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import com.proxyapi.notificationservice.websocket.NotificationDestinations;
+import com.proxyapi.notificationservice.websocket.NotificationFanout;
+import com.proxyapi.notificationservice.websocket.ReplayBuffer;
+import com.proxyapi.notificationservice.websocket.SerializedNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cluster fan-out over a Kafka topic. Payloads are serialized once and published keyed by destination;
+ * every node consumes the whole topic under its own consumer group and hands a payload to its local broker
+ * only when one of its own sessions is subscribed to the destination.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notification.cluster", name = "mode", havingValue = "kafka")
+public class KafkaNotificationFanout implements NotificationFanout {
+
+    private static final String NOTIFICATION_ID_HEADER = "notification-id";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DestinationIndexedSubscriptionRegistry subscriptionRegistry;
+    private final ReplayBuffer replayBuffer;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader notificationReader;
+    private final NotificationProperties.Cluster settings;
+    private final Counter deliveredCounter;
+    private final Counter skippedCounter;
+
+    public KafkaNotificationFanout(KafkaTemplate<String, String> kafkaTemplate,
+                                   SimpMessagingTemplate messagingTemplate,
+                                   DestinationIndexedSubscriptionRegistry subscriptionRegistry,
+                                   ReplayBuffer replayBuffer,
+                                   ObjectMapper objectMapper,
+                                   NotificationProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.replayBuffer = replayBuffer;
+        this.objectMapper = objectMapper;
+        this.notificationReader = objectMapper.readerFor(NotificationDto.class);
+        this.settings = properties.getCluster();
+        if (!StringUtils.hasText(settings.getNodeId())) {
+            throw new IllegalStateException("notification.cluster.node-id must be set in kafka mode, "
+                    + "unique per node and stable across its restarts (e.g. the StatefulSet pod name)");
+        }
+        this.deliveredCounter = Counter.builder("notification.cluster.delivered")
+                .description("Fan-out messages delivered to sessions on this node")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("notification.cluster.skipped")
+                .description("Fan-out messages ignored because no session on this node subscribes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String destination, Object payload) {
+        String json;
+        NotificationDto notification = null;
+        if (payload instanceof SerializedNotification serialized) {
+            json = new String(serialized.json(), StandardCharsets.UTF_8);
+            notification = serialized.notification();
+        } else {
+            try {
+                json = objectMapper.writeValueAsString(payload);
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            if (payload instanceof NotificationDto dto) {
+                notification = dto;
+            }
+        }
+        ProducerRecord<String, String> record = new ProducerRecord<>(settings.getTopic(), destination, json);
+        if (notification != null && notification.getId() != null) {
+            record.headers().add(NOTIFICATION_ID_HEADER,
+                    notification.getId().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return kafkaTemplate.send(record).thenApply(result -> null);
+    }
+
+    @KafkaListener(
+            id = "#{__listener.listenerId}",
+            topics = "#{__listener.topic}",
+            groupId = "#{__listener.listenerId}",
+            properties = "auto.offset.reset=latest")
+    public void onFanout(ConsumerRecord<String, String> record) {
+        String destination = record.key();
+        // Every node buffers every notification, so a client can resume on whichever node it reconnects to
+        Header notificationId = record.headers().lastHeader(NOTIFICATION_ID_HEADER);
+        if (destination != null && notificationId != null) {
+            replayBuffer.record(destination, Long.parseLong(new String(notificationId.value(), StandardCharsets.UTF_8)),
+                    record.value().getBytes(StandardCharsets.UTF_8));
+        }
+        if (destination == null || !subscriptionRegistry.hasSubscriptions(destination)) {
+            skippedCounter.increment();
+            return;
+        }
+        byte[] json = record.value().getBytes(StandardCharsets.UTF_8);
+        MessageBuilder<byte[]> message = MessageBuilder.withPayload(json)
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
+        if (NotificationDestinations.isInbox(destination)) {
+            message.setHeader(CompactPayload.HEADER, CompactPayload.parsing(json, notificationReader));
+        }
+        messagingTemplate.send(destination, message.build());
+        deliveredCounter.increment();
+    }
+
+    /**
+     * Consumer group and container id; unique per node so every node sees every message.
+     */
+    public String getListenerId() {
+        return "notification-fanout-" + settings.getNodeId();
+    }
+
+    public String getTopic() {
+        return settings.getTopic();
+    }
+}
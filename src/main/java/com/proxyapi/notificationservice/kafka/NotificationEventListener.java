@@ -0,0 +1,69 @@
+package com.proxyapi.notificationservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.service.NotificationService;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingests notification events from Kafka in batches. Each poll is persisted through the batched create
+ * path (which also queues the WebSocket pushes and applies the per-recipient rate limit) and the offsets are
+ * committed only afterwards.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.kafka", name = "enabled", havingValue = "true")
+public class NotificationEventListener {
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @KafkaListener(
+            id = "notification-ingest",
+            topics = "${notification.kafka.topic}",
+            containerFactory = "notificationBatchListenerContainerFactory")
+    public void onNotificationEvents(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        List<NotificationDto> notifications = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            NotificationDto notification = parse(record);
+            if (notification != null) {
+                notifications.add(notification);
+            }
+        }
+
+        if (!notifications.isEmpty()) {
+            notificationService.ingestNotifications(notifications);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    private NotificationDto parse(ConsumerRecord<String, String> record) {
+        try {
+            NotificationDto notification = objectMapper.readValue(record.value(), NotificationDto.class);
+            if (!validator.validate(notification).isEmpty()) {
+                log.warn("Skipping invalid notification event at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                return null;
+            }
+            return notification;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // Poison records are skipped rather than blocking the partition
+            log.warn("Skipping unreadable notification event at {}-{}@{}",
+                    record.topic(), record.partition(), record.offset(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.proxyapi.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Membership of a recipient in a named group that broadcasts can target.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_group_members", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_group_members", columnNames = {"group_name", "recipient_id"})
+})
+public class GroupMember {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_group_member_seq")
+    @SequenceGenerator(name = "notification_group_member_seq", sequenceName = "notification_group_members_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String groupName;
+
+    @Column(nullable = false)
+    private String recipientId;
+}
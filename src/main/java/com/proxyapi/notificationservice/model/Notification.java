@@ -15,27 +15,37 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at desc, id desc"),
+        @Index(name = "idx_notifications_recipient_status", columnList = "recipient_id, status"),
+        @Index(name = "idx_notifications_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_notifications_template", columnList = "template_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notifications_recipient_dedup", columnNames = {"recipient_id", "dedup_key"})
+})
 public class Notification {
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces a round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
     
-    @Column(nullable = false)
+    // Null on rows sharing a template's title and message instead of storing a copy
     private String title;
     
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Column(columnDefinition = "TEXT")
     private String message;
     
     @Column(nullable = false)
     private String recipientId;
     
+    // Stored as SMALLINT codes, which keep the row and every index containing the column small
     @Column(nullable = false)
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = StatusConverter.class)
     private NotificationStatus status = NotificationStatus.UNREAD;
     
     @Column(nullable = false)
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TypeConverter.class)
     private NotificationType type;
     
     @CreationTimestamp
@@ -44,12 +54,98 @@ public class Notification {
     
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Producer-supplied idempotency key; null for notifications created without one
+    @Column(length = 128)
+    private String dedupKey;
+
+    @ManyToOne
+    @JoinColumn(name = "template_id")
+    private NotificationTemplate template;
+
+    public String getTitle() {
+        return title != null || template == null ? title : template.getTitle();
+    }
+
+    public String getMessage() {
+        return message != null || template == null ? message : template.getMessage();
+    }
     
+    /**
+     * Codes are persisted and must never be changed or reused; new constants take the next free code.
+     */
     public enum NotificationStatus {
-        UNREAD, READ, ARCHIVED
+        UNREAD(0), READ(1), ARCHIVED(2);
+
+        private final short code;
+
+        NotificationStatus(int code) {
+            this.code = (short) code;
+        }
+
+        public short getCode() {
+            return code;
+        }
+
+        public static NotificationStatus fromCode(short code) {
+            for (NotificationStatus value : values()) {
+                if (value.code == code) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unknown NotificationStatus code " + code);
+        }
     }
     
+    /**
+     * Codes are persisted and must never be changed or reused; new constants take the next free code.
+     */
     public enum NotificationType {
-        INFO, WARNING, ERROR, SUCCESS
+        INFO(0), WARNING(1), ERROR(2), SUCCESS(3);
+
+        private final short code;
+
+        NotificationType(int code) {
+            this.code = (short) code;
+        }
+
+        public short getCode() {
+            return code;
+        }
+
+        public static NotificationType fromCode(short code) {
+            for (NotificationType value : values()) {
+                if (value.code == code) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unknown NotificationType code " + code);
+        }
+    }
+
+    @Converter
+    public static class StatusConverter implements AttributeConverter<NotificationStatus, Short> {
+        @Override
+        public Short convertToDatabaseColumn(NotificationStatus status) {
+            return status == null ? null : status.getCode();
+        }
+
+        @Override
+        public NotificationStatus convertToEntityAttribute(Short code) {
+            return code == null ? null : NotificationStatus.fromCode(code);
+        }
+    }
+
+    @Converter
+    public static class TypeConverter implements AttributeConverter<NotificationType, Short> {
+        @Override
+        public Short convertToDatabaseColumn(NotificationType type) {
+            return type == null ? null : type.getCode();
+        }
+
+        @Override
+        public NotificationType convertToEntityAttribute(Short code) {
+            return code == null ? null : NotificationType.fromCode(code);
+        }
     }
 }
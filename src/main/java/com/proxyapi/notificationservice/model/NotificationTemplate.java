@@ -0,0 +1,70 @@
+package com.proxyapi.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * A title and message stored once for every notification showing them. Templates are content-addressed by
+ * {@link #contentHash(String, String)}, so each distinct text exists once however many broadcasts and batches send it. Each
+ * recipient has a {@link Notification} row referencing the template that only carries its own status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_templates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_templates_hash", columnNames = "content_hash")
+})
+public class NotificationTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_template_seq")
+    @SequenceGenerator(name = "notification_template_seq", sequenceName = "notification_templates_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    // Hex SHA-256 of the text, see contentHash(String, String)
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // Bumped whenever the text is reused, so retention does not delete a template that is about to be referenced
+    private LocalDateTime lastUsedAt;
+
+    /**
+     * Hex SHA-256 of the UTF-8 title, prefixed with its length in bytes so no two title and message pairs
+     * produce the same input, followed by the UTF-8 message. {@code db/postgresql/normalize-notifications.sql}
+     * computes the same value in SQL.
+     */
+    public static String contentHash(String title, String message) {
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update((titleBytes.length + ":").getBytes(StandardCharsets.US_ASCII));
+        digest.update(titleBytes);
+        digest.update(message.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
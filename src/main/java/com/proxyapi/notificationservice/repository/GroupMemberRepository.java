@@ -0,0 +1,23 @@
+package com.proxyapi.notificationservice.repository;
+
+import com.proxyapi.notificationservice.model.GroupMember;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GroupMemberRepository extends JpaRepository<GroupMember, Long> {
+    /**
+     * Keyset page of a group's recipients in id order, starting after {@code after}. Served by
+     * {@code uk_notification_group_members}.
+     */
+    @Query("select m.recipientId from GroupMember m where m.groupName = :groupName and m.recipientId > :after "
+            + "order by m.recipientId")
+    List<String> findRecipientIdsAfter(@Param("groupName") String groupName,
+                                       @Param("after") String after,
+                                       Limit limit);
+}
@@ -1,20 +1,195 @@
 package com.proxyapi.notificationservice.repository;
 
+import com.proxyapi.notificationservice.dto.NotificationDto;
 import com.proxyapi.notificationservice.model.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientIdOrderByCreatedAtDesc(String recipientId);
-    
-    Page<Notification> findByRecipientIdOrderByCreatedAtDesc(String recipientId, Pageable pageable);
-    
+    /**
+     * Selects notifications straight into {@link NotificationDto}s, taking the title and message from the template
+     * when the row shares one. The results are never managed, so reads skip entity hydration, the persistence
+     * context and its dirty checking, and allocate only the DTOs.
+     */
+    String SELECT_DTO = "select new com.proxyapi.notificationservice.dto.NotificationDto(n.id, "
+            + "coalesce(n.title, t.title), coalesce(n.message, t.message), n.recipientId, n.status, n.type, "
+            + "n.createdAt, n.updatedAt, n.dedupKey) from Notification n left join n.template t ";
+
+    /**
+     * Ids of one offset page of a recipient's notifications. Only {@code idx_notifications_recipient_created} is
+     * read, so on PostgreSQL the rows skipped by the offset come from an index-only scan instead of each being
+     * fetched from the table; the page itself is then loaded by id.
+     */
+    @Query(value = "select n.id from Notification n where n.recipientId = :recipientId "
+            + "order by n.createdAt desc, n.id desc",
+            countQuery = "select count(n) from Notification n where n.recipientId = :recipientId")
+    Page<Long> findIdPageByRecipientId(@Param("recipientId") String recipientId, Pageable pageable);
+
+    @Query(SELECT_DTO + "where n.id = :id")
+    Optional<NotificationDto> findDtoById(@Param("id") Long id);
+
+    // In no particular order
+    @Query(SELECT_DTO + "where n.id in :ids")
+    List<NotificationDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Newest notifications of a recipient in {@code createdAt desc, id desc} order. Served by
+     * {@code idx_notifications_recipient_created}.
+     */
+    @Query(SELECT_DTO + "where n.recipientId = :recipientId order by n.createdAt desc, n.id desc")
+    List<NotificationDto> findFirstPage(@Param("recipientId") String recipientId, Limit limit);
+
+    /**
+     * Keyset page: notifications strictly after the given {@code (createdAt, id)} position in
+     * {@code createdAt desc, id desc} order. Served by {@code idx_notifications_recipient_created}.
+     */
+    @Query(SELECT_DTO + "where n.recipientId = :recipientId "
+            + "and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id)) "
+            + "order by n.createdAt desc, n.id desc")
+    List<NotificationDto> findPageAfter(@Param("recipientId") String recipientId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    /**
+     * Notifications created after the given {@code (createdAt, id)} position, oldest first, for replaying what a
+     * reconnecting client missed. Served by {@code idx_notifications_recipient_created} scanned backwards.
+     */
+    @Query(SELECT_DTO + "where n.recipientId = :recipientId "
+            + "and (n.createdAt > :createdAt or (n.createdAt = :createdAt and n.id > :id)) "
+            + "order by n.createdAt asc, n.id asc")
+    List<NotificationDto> findNewerThan(@Param("recipientId") String recipientId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    /**
+     * Streams a recipient's notifications, newest first, with a server-side cursor. Must be consumed inside a
+     * transaction and closed afterwards; nothing is retained by the persistence context while it runs.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "where n.recipientId = :recipientId order by n.createdAt desc, n.id desc")
+    Stream<NotificationDto> streamByRecipientId(@Param("recipientId") String recipientId);
+
+    Optional<NotificationState> findStateById(Long id);
+
+    Optional<Notification> findByRecipientIdAndDedupKey(String recipientId, String dedupKey);
+
+    /**
+     * Which of the given recipients already have a notification with {@code dedupKey}. Served by
+     * {@code uk_notifications_recipient_dedup}.
+     */
+    @Query("select n.recipientId from Notification n where n.recipientId in :recipientIds and n.dedupKey = :dedupKey")
+    List<String> findRecipientIdsWithDedupKey(@Param("recipientIds") Collection<String> recipientIds,
+                                              @Param("dedupKey") String dedupKey);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.status = :to, n.updatedAt = :now where n.id = :id and n.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") Notification.NotificationStatus from,
+                     @Param("to") Notification.NotificationStatus to,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.status = :to, n.updatedAt = :now "
+            + "where n.recipientId = :recipientId and n.id in :ids and n.status = :from")
+    int updateStatusByIds(@Param("recipientId") String recipientId,
+                          @Param("ids") Collection<Long> ids,
+                          @Param("from") Notification.NotificationStatus from,
+                          @Param("to") Notification.NotificationStatus to,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.status = :to, n.updatedAt = :now "
+            + "where n.recipientId = :recipientId and n.createdAt < :before and n.status = :from")
+    int updateStatusCreatedBefore(@Param("recipientId") String recipientId,
+                                  @Param("before") LocalDateTime before,
+                                  @Param("from") Notification.NotificationStatus from,
+                                  @Param("to") Notification.NotificationStatus to,
+                                  @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.id = :id and n.status in :statuses")
+    int deleteWhereIdAndStatusIn(@Param("id") Long id,
+                                 @Param("statuses") Collection<Notification.NotificationStatus> statuses);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n "
+            + "where n.recipientId = :recipientId and n.id in :ids and n.status in :statuses")
+    int deleteByIds(@Param("recipientId") String recipientId,
+                    @Param("ids") Collection<Long> ids,
+                    @Param("statuses") Collection<Notification.NotificationStatus> statuses);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n "
+            + "where n.recipientId = :recipientId and n.createdAt < :before and n.status in :statuses")
+    int deleteCreatedBefore(@Param("recipientId") String recipientId,
+                            @Param("before") LocalDateTime before,
+                            @Param("statuses") Collection<Notification.NotificationStatus> statuses);
+
+    /**
+     * Oldest notifications in {@code status} created before {@code before}, for the retention job. Served by
+     * {@code idx_notifications_status_created}, so each chunk starts where the previous one left off.
+     */
+    @Query("select n.id as id, n.recipientId as recipientId from Notification n "
+            + "where n.status = :status and n.createdAt < :before order by n.createdAt")
+    List<RetentionCandidate> findRetentionCandidates(@Param("status") Notification.NotificationStatus status,
+                                                     @Param("before") LocalDateTime before,
+                                                     Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.status = :to, n.updatedAt = :now where n.id in :ids and n.status = :from")
+    int updateStatusWhereIdIn(@Param("ids") Collection<Long> ids,
+                              @Param("from") Notification.NotificationStatus from,
+                              @Param("to") Notification.NotificationStatus to,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.id in :ids and n.status = :status")
+    int deleteWhereIdIn(@Param("ids") Collection<Long> ids,
+                        @Param("status") Notification.NotificationStatus status);
+
     List<Notification> findByRecipientIdAndStatus(String recipientId, Notification.NotificationStatus status);
     
+    // Index-only on idx_notifications_recipient_status
     Long countByRecipientIdAndStatus(String recipientId, Notification.NotificationStatus status);
+
+    @Query("select n.recipientId as recipientId, count(n) as count from Notification n "
+            + "where n.recipientId in :recipientIds and n.status = :status group by n.recipientId")
+    List<RecipientCount> countUnreadByRecipientIds(@Param("recipientIds") Collection<String> recipientIds,
+                                                   @Param("status") Notification.NotificationStatus status);
+
+    interface NotificationState {
+        String getRecipientId();
+
+        Notification.NotificationStatus getStatus();
+    }
+
+    interface RetentionCandidate {
+        Long getId();
+
+        String getRecipientId();
+    }
+
+    interface RecipientCount {
+        String getRecipientId();
+
+        long getCount();
+    }
 }
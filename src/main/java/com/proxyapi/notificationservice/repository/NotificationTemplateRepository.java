@@ -0,0 +1,33 @@
+package com.proxyapi.notificationservice.repository;
+
+import com.proxyapi.notificationservice.model.NotificationTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, Long> {
+    Optional<NotificationTemplate> findByContentHash(String contentHash);
+
+    /**
+     * Records that the template is being reused. Returns 0 if it was deleted in the meantime; otherwise the
+     * row stays locked until the transaction ends, so retention cannot delete it underneath the new rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update NotificationTemplate t set t.lastUsedAt = :now where t.id = :id")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes templates last used before {@code before} that no notification references any more. The lookup is
+     * served by {@code idx_notifications_template}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from NotificationTemplate t where t.lastUsedAt < :before "
+            + "and not exists (select 1 from Notification n where n.template = t)")
+    int deleteUnreferencedUnusedSince(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,17 @@
+package com.proxyapi.notificationservice.repository;
+
+import com.proxyapi.notificationservice.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime createdAt, Limit limit);
+
+    Optional<OutboxEvent> findFirstByOrderByCreatedAtAsc();
+}
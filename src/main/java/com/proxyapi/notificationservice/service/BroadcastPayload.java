@@ -0,0 +1,57 @@
+package com.proxyapi.notificationservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.model.NotificationTemplate;
+import com.proxyapi.notificationservice.websocket.SerializedNotification;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Push payloads of one broadcast. The fields every recipient shares, including the message body, are
+ * serialized once; for each recipient only its own fields are written and joined with them into a regular
+ * {@link NotificationDto} JSON object.
+ */
+final class BroadcastPayload {
+
+    private final ObjectWriter recipientWriter;
+    private final byte[] shared;
+
+    BroadcastPayload(ObjectMapper objectMapper, NotificationTemplate template, Notification.NotificationType type) {
+        this.recipientWriter = objectMapper.writerFor(RecipientFields.class);
+        try {
+            this.shared = objectMapper.writeValueAsBytes(
+                    new SharedFields(template.getTitle(), template.getMessage(), type));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    SerializedNotification serialize(NotificationDto notification) {
+        byte[] own;
+        try {
+            own = recipientWriter.writeValueAsBytes(new RecipientFields(notification.getId(),
+                    notification.getRecipientId(), notification.getStatus(), notification.getCreatedAt(),
+                    notification.getUpdatedAt(), notification.getDedupKey()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        // {"id":1,...} and {"title":"...",...} become {"id":1,...,"title":"...",...}
+        byte[] json = new byte[own.length + shared.length - 1];
+        System.arraycopy(own, 0, json, 0, own.length - 1);
+        json[own.length - 1] = ',';
+        System.arraycopy(shared, 1, json, own.length, shared.length - 1);
+        return new SerializedNotification(notification, json);
+    }
+
+    record SharedFields(String title, String message, Notification.NotificationType type) {
+    }
+
+    record RecipientFields(Long id, String recipientId, Notification.NotificationStatus status,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, String dedupKey) {
+    }
+}
@@ -0,0 +1,209 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.config.ThreadFactories;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.websocket.NotificationFanout;
+import com.proxyapi.notificationservice.websocket.SerializedNotification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Orders notification pushes by {@link Notification.NotificationType} before they reach the fan-out.
+ * <p>
+ * Each type has its own bounded queue. Workers drain them in weighted rounds, heaviest type first, so an
+ * INFO storm cannot delay ERROR notifications by more than one round, while lighter types still progress.
+ * A type can additionally be capped at a number of pushes per second; its backlog then waits in its queue.
+ */
+@Slf4j
+@Component
+public class DeliveryScheduler implements DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final NotificationFanout fanout;
+    private final Lane[] lanes;
+    private final Thread[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public DeliveryScheduler(NotificationFanout fanout, NotificationProperties properties, MeterRegistry meterRegistry) {
+        this.fanout = fanout;
+        NotificationProperties.Delivery settings = properties.getDelivery();
+
+        this.lanes = Arrays.stream(Notification.NotificationType.values())
+                .map(type -> new Lane(type,
+                        Math.max(1, settings.getWeights().getOrDefault(type, 1)),
+                        settings.getRateLimits().getOrDefault(type, 0),
+                        settings.getQueueCapacity(),
+                        meterRegistry))
+                .sorted(Comparator.comparingInt((Lane lane) -> lane.weight).reversed())
+                .toArray(Lane[]::new);
+
+        ThreadFactory threadFactory = ThreadFactories.create("delivery-", properties);
+        this.workers = new Thread[settings.getThreads()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = threadFactory.newThread(this::drain);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Queues a push of {@code notification} to {@code destination}. The future completes once the fan-out has
+     * accepted it, or exceptionally if the type's queue is full or the fan-out failed.
+     */
+    public CompletableFuture<Void> submit(String destination, NotificationDto notification) {
+        return submit(destination, notification.getType(), notification);
+    }
+
+    /**
+     * Same as {@link #submit(String, NotificationDto)} for a notification that is already serialized.
+     */
+    public CompletableFuture<Void> submit(String destination, SerializedNotification notification) {
+        return submit(destination, notification.notification().getType(), notification);
+    }
+
+    private CompletableFuture<Void> submit(String destination, Notification.NotificationType type, Object payload) {
+        Lane lane = lane(type);
+        Delivery delivery = new Delivery(destination, payload, System.nanoTime(), new CompletableFuture<>());
+        if (!lane.queue.offer(delivery)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Delivery queue for " + lane.type + " is full"));
+        }
+        LockSupport.unpark(workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)]);
+        return delivery.result();
+    }
+
+    private void drain() {
+        while (running) {
+            boolean progressed = false;
+            for (Lane lane : lanes) {
+                for (int i = 0; i < lane.weight; i++) {
+                    if (lane.queue.isEmpty() || !lane.tryAcquire()) {
+                        break;
+                    }
+                    Delivery delivery = lane.queue.poll();
+                    if (delivery == null) {
+                        // Another worker took it
+                        lane.release();
+                        break;
+                    }
+                    deliver(lane, delivery);
+                    progressed = true;
+                }
+            }
+            if (!progressed) {
+                // Idle or rate limited; submit() wakes a worker as soon as there is new work
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void deliver(Lane lane, Delivery delivery) {
+        lane.queueDelay.record(System.nanoTime() - delivery.queuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            fanout.publish(delivery.destination(), delivery.payload()).whenComplete((ignored, e) -> {
+                if (e == null) {
+                    delivery.result().complete(null);
+                } else {
+                    delivery.result().completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            delivery.result().completeExceptionally(e);
+        }
+    }
+
+    private Lane lane(Notification.NotificationType type) {
+        for (Lane lane : lanes) {
+            if (lane.type == type) {
+                return lane;
+            }
+        }
+        // Untyped notifications are treated as the lightest type
+        return lanes[lanes.length - 1];
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Lane lane : lanes) {
+            Delivery delivery;
+            while ((delivery = lane.queue.poll()) != null) {
+                delivery.result().completeExceptionally(new RejectedExecutionException("Delivery scheduler stopped"));
+            }
+        }
+    }
+
+    private record Delivery(String destination, Object payload, long queuedAt,
+                            CompletableFuture<Void> result) {
+    }
+
+    private static final class Lane {
+        private final Notification.NotificationType type;
+        private final int weight;
+        private final BlockingQueue<Delivery> queue;
+        private final Timer queueDelay;
+
+        // Token bucket holding up to one second of pushes; unused when ratePerSecond is 0
+        private final int ratePerSecond;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private Lane(Notification.NotificationType type, int weight, int ratePerSecond, int capacity,
+                     MeterRegistry meterRegistry) {
+            this.type = type;
+            this.weight = weight;
+            this.ratePerSecond = ratePerSecond;
+            this.tokens = ratePerSecond;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+            this.queueDelay = Timer.builder("notification.delivery.queue.delay")
+                    .description("Time a push waited in its priority queue")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("notification.delivery.queue.size", queue, BlockingQueue::size)
+                    .description("Pushes waiting in a priority queue")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (ratePerSecond <= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(ratePerSecond, tokens + (now - refilledAt) * ratePerSecond / 1e9);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        private synchronized void release() {
+            if (ratePerSecond > 0) {
+                tokens = Math.min(ratePerSecond, tokens + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.proxyapi.notificationservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Recently created notifications keyed by recipient and idempotency key, so a retried create is answered
+ * without touching the database. Entries expire after {@code notification.idempotency.ttl}, and beyond
+ * {@code max-entries} Caffeine evicts by recency and frequency. Misses fall back to the unique index on the
+ * notifications table.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Cache<Key, NotificationDto> entries;
+
+    public IdempotencyCache(NotificationProperties properties) {
+        NotificationProperties.Idempotency settings = properties.getIdempotency();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(settings.getTtl())
+                .build();
+    }
+
+    public Optional<NotificationDto> get(String recipientId, String dedupKey) {
+        return Optional.ofNullable(entries.getIfPresent(new Key(recipientId, dedupKey)));
+    }
+
+    /**
+     * Remembers a created notification once the current transaction commits, so a rolled back create is
+     * never reported as a duplicate.
+     */
+    public void put(NotificationDto notification) {
+        AfterCommit.run(() -> entries.put(new Key(notification.getRecipientId(), notification.getDedupKey()),
+                notification));
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private record Key(String recipientId, String dedupKey) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.proxyapi.notificationservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of single notifications by id, holding both the DTO and its JSON so repeated reads
+ * skip the database and Jackson.
+ * <p>
+ * Entries expire after {@code notification.cache.ttl}; once {@code max-entries} is reached Caffeine evicts by
+ * recency and frequency. Cached ids are also indexed by recipient, so bulk changes drop a recipient's entries
+ * without scanning the cache. Changes made through this service invalidate entries after commit; a load
+ * racing with an invalidation is not stored. Other nodes of a cluster only see a change once their entry
+ * expires.
+ */
+@Component
+public class NotificationCache {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationProperties.Cache settings;
+    private final ObjectWriter writer;
+    private final Cache<Long, Entry> entries;
+    private final Map<String, Set<Long>> idsByRecipient = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NotificationCache(NotificationRepository notificationRepository, NotificationProperties properties,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.settings = properties.getCache();
+        this.writer = objectMapper.writerFor(NotificationDto.class);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(settings.getTtl())
+                .<Long, Entry>evictionListener((id, entry, cause) -> unindex(id, entry))
+                .recordStats()
+                .build();
+        FunctionCounter.builder("notification.cache.gets", entries, cache -> cache.stats().hitCount())
+                .description("Reads of single notifications by id")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("notification.cache.gets", entries, cache -> cache.stats().missCount())
+                .description("Reads of single notifications by id")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("notification.cache.size", entries, Cache::estimatedSize)
+                .description("Notifications held by the read-through cache")
+                .register(meterRegistry);
+    }
+
+    public Optional<NotificationDto> get(Long id) {
+        return entry(id).map(Entry::notification);
+    }
+
+    /**
+     * The notification serialized as JSON, rendered once per cached entry.
+     */
+    public Optional<byte[]> getJson(Long id) {
+        return entry(id).map(this::json);
+    }
+
+    /**
+     * Drops {@code id} once the current transaction commits.
+     */
+    public void invalidate(Long id) {
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            remove(id);
+        });
+    }
+
+    public void invalidate(Collection<Long> ids) {
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            ids.forEach(this::remove);
+        });
+    }
+
+    /**
+     * Drops every notification of {@code recipientId} once the current transaction commits, for bulk changes
+     * that do not name their rows.
+     */
+    public void invalidateRecipient(String recipientId) {
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            Set<Long> ids = idsByRecipient.remove(recipientId);
+            if (ids != null) {
+                entries.invalidateAll(ids);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.invalidateAll();
+        idsByRecipient.clear();
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private Optional<Entry> entry(Long id) {
+        Entry cached = entries.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long seen = invalidations.get();
+        Optional<Entry> loaded = notificationRepository.findDtoById(id).map(Entry::new);
+        if (settings.isEnabled()) {
+            // A row read inside a transaction may not be committed yet, so it is only cached after commit
+            loaded.ifPresent(fresh -> AfterCommit.run(() -> {
+                if (invalidations.get() == seen) {
+                    put(id, fresh);
+                }
+            }));
+        }
+        return loaded;
+    }
+
+    private void put(Long id, Entry entry) {
+        // Indexed first, so an entry evicted as soon as it is stored is unindexed again
+        idsByRecipient.compute(entry.notification().getRecipientId(), (recipientId, ids) -> {
+            Set<Long> indexed = ids != null ? ids : new HashSet<>();
+            indexed.add(id);
+            return indexed;
+        });
+        entries.put(id, entry);
+    }
+
+    private void remove(Long id) {
+        Entry removed = entries.asMap().remove(id);
+        if (removed != null) {
+            unindex(id, removed);
+        }
+    }
+
+    private void unindex(Long id, Entry entry) {
+        // Index sets are only mutated inside the per-recipient compute, so they need no locking of their own
+        idsByRecipient.computeIfPresent(entry.notification().getRecipientId(), (recipientId, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private byte[] json(Entry entry) {
+        byte[] json = entry.json;
+        if (json == null) {
+            try {
+                json = writer.writeValueAsBytes(entry.notification());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            // Racing readers render identical bytes, so the last write wins harmlessly
+            entry.json = json;
+        }
+        return json;
+    }
+
+    private static final class Entry {
+        private final NotificationDto notification;
+        private volatile byte[] json;
+
+        private Entry(NotificationDto notification) {
+            this.notification = notification;
+        }
+
+        private NotificationDto notification() {
+            return notification;
+        }
+    }
+}
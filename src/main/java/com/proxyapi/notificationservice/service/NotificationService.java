@@ -1,92 +1,644 @@
 package com.proxyapi.notificationservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.BroadcastRequest;
+import com.proxyapi.notificationservice.dto.BroadcastResult;
+import com.proxyapi.notificationservice.dto.BulkNotificationRequest;
+import com.proxyapi.notificationservice.dto.NotificationCursor;
 import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSlice;
+import com.proxyapi.notificationservice.exception.InvalidRequestException;
 import com.proxyapi.notificationservice.exception.NotificationNotFoundException;
+import com.proxyapi.notificationservice.exception.RateLimitExceededException;
 import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.model.NotificationTemplate;
+import com.proxyapi.notificationservice.repository.GroupMemberRepository;
 import com.proxyapi.notificationservice.repository.NotificationRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.proxyapi.notificationservice.repository.NotificationTemplateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationTemplateRepository templateRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final OutboxDispatcher outboxDispatcher;
+    private final UnreadCountCache unreadCountCache;
+    private final UnreadCountPublisher unreadCountPublisher;
+    private final RecipientRateLimiter recipientRateLimiter;
+    private final IdempotencyCache idempotencyCache;
+    private final NotificationCache notificationCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate templateTransaction;
+    private final Timer createTimer;
+    private final Timer batchCreateTimer;
+    private final Timer broadcastCreateTimer;
+    private final Timer persistTimer;
+    private final Timer batchPersistTimer;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationTemplateRepository templateRepository,
+                               GroupMemberRepository groupMemberRepository,
+                               OutboxDispatcher outboxDispatcher,
+                               UnreadCountCache unreadCountCache,
+                               UnreadCountPublisher unreadCountPublisher,
+                               RecipientRateLimiter recipientRateLimiter,
+                               IdempotencyCache idempotencyCache,
+                               NotificationCache notificationCache,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               NotificationProperties properties,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.templateRepository = templateRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.outboxDispatcher = outboxDispatcher;
+        this.unreadCountCache = unreadCountCache;
+        this.unreadCountPublisher = unreadCountPublisher;
+        this.recipientRateLimiter = recipientRateLimiter;
+        this.idempotencyCache = idempotencyCache;
+        this.notificationCache = notificationCache;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Templates commit on their own, so a concurrent insert of the same text can be recovered from
+        this.templateTransaction = new TransactionTemplate(transactionManager);
+        this.templateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Create covers persisting and queueing the push; the commit itself and the push are timed separately
+        this.createTimer = Timer.builder("notification.create")
+                .description("Time to create notifications, excluding the commit")
+                .tag("mode", "single")
+                .register(meterRegistry);
+        this.batchCreateTimer = Timer.builder("notification.create")
+                .description("Time to create notifications, excluding the commit")
+                .tag("mode", "batch")
+                .register(meterRegistry);
+        this.broadcastCreateTimer = Timer.builder("notification.create")
+                .description("Time to create notifications, excluding the commit")
+                .tag("mode", "broadcast")
+                .register(meterRegistry);
+        this.persistTimer = Timer.builder("notification.persist")
+                .description("Time spent writing notification and outbox rows")
+                .tag("mode", "single")
+                .register(meterRegistry);
+        this.batchPersistTimer = Timer.builder("notification.persist")
+                .description("Time spent writing notification and outbox rows")
+                .tag("mode", "batch")
+                .register(meterRegistry);
+    }
 
+    /**
+     * Creates a notification, subject to the per-recipient rate limit. In {@code digest} mode a notification
+     * over the limit is not stored; it is folded into the recipient's next digest and returned without an id.
+     * <p>
+     * A notification carrying a {@code dedupKey} that was already used for the same recipient is not created
+     * again; the original is returned and nothing is pushed.
+     *
+     * @throws RateLimitExceededException in {@code strict} mode when the recipient is over the limit
+     */
     @Transactional
     public NotificationDto createNotification(NotificationDto notificationDto) {
-        Notification notification = Notification.builder()
-                .title(notificationDto.getTitle())
-                .message(notificationDto.getMessage())
-                .recipientId(notificationDto.getRecipientId())
-                .type(notificationDto.getType())
-                .status(Notification.NotificationStatus.UNREAD)  // Explicitly set status to UNREAD
-                .build();
+        String dedupKey = notificationDto.getDedupKey();
+        if (dedupKey != null) {
+            Optional<NotificationDto> original = findByDedupKey(notificationDto.getRecipientId(), dedupKey);
+            if (original.isPresent()) {
+                return original.get();
+            }
+        }
+        if (!admit(notificationDto, RateLimiting.AS_CONFIGURED)) {
+            return notificationDto;
+        }
+        return createTimer.record(() -> {
+            // Keyed creates are flushed right away so a concurrent duplicate fails here on the unique index
+            Notification savedNotification = persistTimer.record(() -> dedupKey != null
+                    ? notificationRepository.saveAndFlush(toEntity(notificationDto))
+                    : notificationRepository.save(toEntity(notificationDto)));
+            NotificationDto savedDto = NotificationDto.fromEntity(savedNotification);
 
-        Notification savedNotification = notificationRepository.save(notification);
-        NotificationDto savedDto = NotificationDto.fromEntity(savedNotification);
-        
-        // Send real-time notification to the recipient
-        sendNotificationToUser(notificationDto.getRecipientId(), savedDto);
-        
-        return savedDto;
+            afterCreate(List.of(savedDto));
+            if (dedupKey != null) {
+                idempotencyCache.put(savedDto);
+            }
+
+            return savedDto;
+        });
     }
 
+    /**
+     * Persists the given notifications using JDBC batching, flushing and clearing the persistence
+     * context every {@code notification.batch.size} rows so memory stays flat for large requests.
+     * <p>
+     * Notifications whose {@code dedupKey} was already used for the same recipient, in an earlier request or
+     * earlier in this batch, are skipped and not returned, so a redelivered batch is harmless. A title and
+     * message occurring more than once in the batch is stored once as a {@link NotificationTemplate}.
+     * <p>
+     * Each notification is subject to the per-recipient rate limit. In {@code digest} mode those over the
+     * limit are folded into their recipient's next digest and not returned.
+     *
+     * @throws RateLimitExceededException in {@code strict} mode when any recipient is over the limit, in which
+     *                                    case nothing is stored
+     */
+    @Transactional
+    public List<NotificationDto> createNotifications(List<NotificationDto> notificationDtos) {
+        return createNotifications(notificationDtos, RateLimiting.AS_CONFIGURED);
+    }
+
+    /**
+     * Creates notifications consumed from Kafka, like {@link #createNotifications(List)}. An event cannot be
+     * rejected back to its producer, and failing the poll would only redeliver it, so notifications over the
+     * rate limit are folded into digests in {@code strict} mode too.
+     */
+    @Transactional
+    public List<NotificationDto> ingestNotifications(List<NotificationDto> notificationDtos) {
+        return createNotifications(notificationDtos, RateLimiting.FOLD);
+    }
+
+    private List<NotificationDto> createNotifications(List<NotificationDto> notificationDtos,
+                                                      RateLimiting rateLimiting) {
+        int maxRequestSize = properties.getBatch().getMaxRequestSize();
+        if (notificationDtos.size() > maxRequestSize) {
+            throw new InvalidRequestException(
+                    "Batch contains " + notificationDtos.size() + " notifications, maximum is " + maxRequestSize);
+        }
+
+        Timer.Sample sample = Timer.start();
+        notificationDtos = withoutDuplicates(notificationDtos).stream()
+                .filter(dto -> admit(dto, rateLimiting))
+                .collect(Collectors.toList());
+        Map<Text, NotificationTemplate> templates = templatesForRepeatedTexts(notificationDtos);
+        int batchSize = properties.getBatch().getSize();
+        List<NotificationDto> savedDtos = new ArrayList<>(notificationDtos.size());
+        for (int from = 0; from < notificationDtos.size(); from += batchSize) {
+            List<Notification> chunk = notificationDtos
+                    .subList(from, Math.min(from + batchSize, notificationDtos.size()))
+                    .stream()
+                    .map(dto -> toEntity(dto, templates.get(Text.of(dto))))
+                    .collect(Collectors.toList());
+
+            // Rows are written on flush, so the batch timing spans save through flush
+            Timer.Sample persist = Timer.start();
+            List<NotificationDto> chunkDtos = notificationRepository.saveAll(chunk).stream()
+                    .map(NotificationDto::fromEntity)
+                    .collect(Collectors.toList());
+            afterCreate(chunkDtos);
+            chunkDtos.stream().filter(dto -> dto.getDedupKey() != null).forEach(idempotencyCache::put);
+            savedDtos.addAll(chunkDtos);
+            entityManager.flush();
+            persist.stop(batchPersistTimer);
+            entityManager.clear();
+        }
+        sample.stop(batchCreateTimer);
+        return savedDtos;
+    }
+
+    /**
+     * Sends one notification to every recipient listed in the request or belonging to its group. The title and
+     * message are stored once in a {@link NotificationTemplate}, shared with any earlier broadcast of the same
+     * text, and each recipient gets a row holding only its own status; the pushes share a single serialization
+     * of the text. Recipients are processed in chunks of {@code notification.batch.size}, each committed in its
+     * own transaction, so a broadcast to a large group holds no long transaction and its pushes start with the
+     * first chunk.
+     * <p>
+     * A broadcast that fails part-way keeps the chunks already committed. The {@code dedupKey} is stored on
+     * every recipient's row, so retrying with the same key skips the recipients that already have it and only
+     * reaches the remaining ones; without a key a retry notifies everyone again. Broadcasts bypass the
+     * per-recipient rate limit.
+     */
+    public BroadcastResult broadcast(BroadcastRequest request) {
+        Timer.Sample sample = Timer.start();
+        NotificationTemplate template = sharedTemplate(request.getTitle(), request.getMessage());
+        BroadcastPayload payload = new BroadcastPayload(objectMapper, template, request.getType());
+
+        int batchSize = properties.getBatch().getSize();
+        long recipients = 0;
+        if (request.getRecipientIds() != null && !request.getRecipientIds().isEmpty()) {
+            List<String> recipientIds = request.getRecipientIds().stream().distinct().collect(Collectors.toList());
+            for (int from = 0; from < recipientIds.size(); from += batchSize) {
+                List<String> chunk = recipientIds.subList(from, Math.min(from + batchSize, recipientIds.size()));
+                recipients += transactionTemplate.execute(tx -> broadcastTo(template, request, chunk, payload));
+            }
+        } else {
+            List<String> members;
+            String after = "";
+            do {
+                members = groupMemberRepository.findRecipientIdsAfter(request.getGroup(), after, Limit.of(batchSize));
+                if (!members.isEmpty()) {
+                    List<String> page = members;
+                    recipients += transactionTemplate.execute(tx -> broadcastTo(template, request, page, payload));
+                    after = members.get(members.size() - 1);
+                }
+            } while (members.size() == batchSize);
+        }
+        sample.stop(broadcastCreateTimer);
+        return new BroadcastResult(template.getId(), recipients);
+    }
+
+    /**
+     * Turns the notifications folded by the rate limiter into one digest notification per recipient.
+     */
+    @Scheduled(fixedDelayString = "${notification.rate-limit.digest-interval}")
+    @Transactional
+    public void flushDigests() {
+        List<NotificationDto> digests = recipientRateLimiter.drainDigests().stream()
+                .map(RecipientRateLimiter.Digest::toNotification)
+                .collect(Collectors.toList());
+        int maxRequestSize = properties.getBatch().getMaxRequestSize();
+        for (int from = 0; from < digests.size(); from += maxRequestSize) {
+            // Digests stand in for notifications already counted against the limit
+            createNotifications(digests.subList(from, Math.min(from + maxRequestSize, digests.size())),
+                    RateLimiting.EXEMPT);
+        }
+    }
+
+    /**
+     * Unpaginated listing used by the legacy v1 API, capped at {@code notification.listing.legacy-max-results}
+     * newest notifications. Use {@link #streamUserNotifications} to read a whole inbox.
+     */
     @Transactional(readOnly = true)
     public List<NotificationDto> getUserNotifications(String userId) {
-        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId).stream()
-                .map(NotificationDto::fromEntity)
-                .collect(Collectors.toList());
+        Limit limit = Limit.of(properties.getListing().getLegacyMaxResults());
+        return notificationRepository.findFirstPage(userId, limit);
+    }
+
+    /**
+     * Hands every notification of the user, newest first, to {@code consumer} while reading them through a
+     * database cursor. Rows are read as DTOs the persistence context never holds, so memory use does not depend
+     * on the size of the inbox.
+     */
+    @Transactional(readOnly = true)
+    public void streamUserNotifications(String userId, Consumer<NotificationDto> consumer) {
+        try (Stream<NotificationDto> notifications = notificationRepository.streamByRecipientId(userId)) {
+            notifications.forEach(consumer);
+        }
     }
 
+    /**
+     * Offset-paginated listing. The page is located through the index alone and only its own rows are loaded,
+     * so deep pages do not read every skipped row.
+     */
     @Transactional(readOnly = true)
     public Page<NotificationDto> getUserNotifications(String userId, Pageable pageable) {
-        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, pageable)
-                .map(NotificationDto::fromEntity);
+        Page<Long> ids = notificationRepository.findIdPageByRecipientId(userId, pageable);
+        Map<Long, NotificationDto> rows = ids.isEmpty() ? Map.of() : notificationRepository
+                .findDtosByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(NotificationDto::getId, Function.identity()));
+        // A row deleted between the two queries is left out of the page
+        List<NotificationDto> content = ids.getContent().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset-paginated listing. Unlike the {@link Pageable} variant this issues no COUNT query and its cost
+     * does not grow with the page depth.
+     */
+    @Transactional(readOnly = true)
+    public NotificationSlice getUserNotificationSlice(String userId, String cursor, int size) {
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<NotificationDto> notifications;
+        if (cursor == null) {
+            notifications = notificationRepository.findFirstPage(userId, limit);
+        } else {
+            NotificationCursor position = NotificationCursor.decode(cursor);
+            notifications = notificationRepository.findPageAfter(userId, position.getCreatedAt(), position.getId(), limit);
+        }
+
+        boolean hasNext = notifications.size() > size;
+        List<NotificationDto> page = hasNext ? notifications.subList(0, size) : notifications;
+        String nextCursor = hasNext ? NotificationCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new NotificationSlice(page, nextCursor, hasNext);
     }
 
+    /**
+     * Up to {@code limit} notifications of {@code userId} created after notification {@code lastSeenId}, oldest
+     * first, for replaying to a reconnecting client. Empty if {@code lastSeenId} does not exist (any more) or
+     * belongs to someone else, so the position is unknown.
+     */
     @Transactional(readOnly = true)
+    public Optional<List<NotificationDto>> getNotificationsAfter(String userId, Long lastSeenId, int limit) {
+        return notificationRepository.findDtoById(lastSeenId)
+                .filter(lastSeen -> lastSeen.getRecipientId().equals(userId))
+                .map(lastSeen -> notificationRepository
+                        .findNewerThan(userId, lastSeen.getCreatedAt(), lastSeen.getId(), Limit.of(limit)));
+    }
+
+    /**
+     * Reads through {@link NotificationCache}. Not transactional, so a cache hit does not check out a
+     * database connection. The returned instance may be shared and must not be modified.
+     */
     public NotificationDto getNotificationById(Long id) {
-        return notificationRepository.findById(id)
-                .map(NotificationDto::fromEntity)
+        return notificationCache.get(id)
+                .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + id));
+    }
+
+    /**
+     * Same as {@link #getNotificationById} but already serialized as JSON.
+     */
+    public byte[] getNotificationJsonById(Long id) {
+        return notificationCache.getJson(id)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + id));
     }
 
+    /**
+     * Marks a notification as read and returns it as stored afterwards. The UPDATE is conditional on the
+     * notification being unread, so of two concurrent calls only one decrements the unread counter.
+     */
     @Transactional
     public NotificationDto markAsRead(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
+        int updated = notificationRepository.updateStatus(notificationId,
+                Notification.NotificationStatus.UNREAD, Notification.NotificationStatus.READ, LocalDateTime.now());
+        NotificationDto notification = notificationRepository.findDtoById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + notificationId));
-        
-        notification.setStatus(Notification.NotificationStatus.READ);
-        return NotificationDto.fromEntity(notificationRepository.save(notification));
+        if (updated > 0) {
+            adjustUnreadCount(notification.getRecipientId(), -1);
+            notificationCache.invalidate(notificationId);
+        }
+        return notification;
+    }
+
+    /**
+     * Marks the selected notifications of a user as read with a single UPDATE.
+     *
+     * @return the number of notifications that changed from unread to read
+     */
+    @Transactional
+    public int markAsRead(BulkNotificationRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = request.getIds() != null && !request.getIds().isEmpty()
+                ? notificationRepository.updateStatusByIds(request.getUserId(), request.getIds(),
+                        Notification.NotificationStatus.UNREAD, Notification.NotificationStatus.READ, now)
+                : notificationRepository.updateStatusCreatedBefore(request.getUserId(), request.getBefore(),
+                        Notification.NotificationStatus.UNREAD, Notification.NotificationStatus.READ, now);
+        if (updated > 0) {
+            adjustUnreadCount(request.getUserId(), -updated);
+            invalidateCached(request);
+        }
+        return updated;
     }
 
+    /**
+     * Deletes a notification with a DELETE conditional on the status read beforehand, so a concurrent
+     * mark-as-read cannot make both decrement the unread counter. The status read only picks which DELETE
+     * runs first; the counter follows the row count of the unread one.
+     */
     @Transactional
     public void deleteNotification(Long notificationId) {
-        if (!notificationRepository.existsById(notificationId)) {
-            throw new NotificationNotFoundException("Notification not found with id: " + notificationId);
+        NotificationRepository.NotificationState state = findState(notificationId);
+
+        int unreadDeleted = state.getStatus() == Notification.NotificationStatus.UNREAD
+                ? notificationRepository.deleteWhereIdAndStatusIn(notificationId,
+                        List.of(Notification.NotificationStatus.UNREAD))
+                : 0;
+        int othersDeleted = unreadDeleted == 0
+                ? notificationRepository.deleteWhereIdAndStatusIn(notificationId,
+                        List.of(Notification.NotificationStatus.READ, Notification.NotificationStatus.ARCHIVED))
+                : 0;
+        if (unreadDeleted > 0) {
+            adjustUnreadCount(state.getRecipientId(), -1);
+        }
+        if (unreadDeleted + othersDeleted > 0) {
+            notificationCache.invalidate(notificationId);
         }
-        notificationRepository.deleteById(notificationId);
+    }
+
+    /**
+     * Deletes the selected notifications of a user. Unread and other rows are removed by two bulk DELETEs so
+     * the unread counter can be adjusted without loading any rows.
+     *
+     * @return the number of deleted notifications
+     */
+    @Transactional
+    public int deleteNotifications(BulkNotificationRequest request) {
+        List<Notification.NotificationStatus> unread = List.of(Notification.NotificationStatus.UNREAD);
+        List<Notification.NotificationStatus> others = List.of(
+                Notification.NotificationStatus.READ, Notification.NotificationStatus.ARCHIVED);
+
+        int unreadDeleted;
+        int othersDeleted;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            unreadDeleted = notificationRepository.deleteByIds(request.getUserId(), request.getIds(), unread);
+            othersDeleted = notificationRepository.deleteByIds(request.getUserId(), request.getIds(), others);
+        } else {
+            unreadDeleted = notificationRepository.deleteCreatedBefore(request.getUserId(), request.getBefore(), unread);
+            othersDeleted = notificationRepository.deleteCreatedBefore(request.getUserId(), request.getBefore(), others);
+        }
+        if (unreadDeleted > 0) {
+            adjustUnreadCount(request.getUserId(), -unreadDeleted);
+        }
+        if (unreadDeleted + othersDeleted > 0) {
+            invalidateCached(request);
+        }
+        return unreadDeleted + othersDeleted;
     }
 
     public long getUnreadCount(String userId) {
-        return notificationRepository.countByRecipientIdAndStatus(
-                userId, 
-                Notification.NotificationStatus.UNREAD
-        );
+        return unreadCountCache.get(userId);
+    }
+
+    private NotificationRepository.NotificationState findState(Long notificationId) {
+        return notificationRepository.findStateById(notificationId)
+                .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + notificationId));
     }
 
-    private void sendNotificationToUser(String userId, NotificationDto notification) {
-        String destination = String.format("/topic/notifications/%s", userId);
-        messagingTemplate.convertAndSend(destination, notification);
+    private Optional<NotificationDto> findByDedupKey(String recipientId, String dedupKey) {
+        Optional<NotificationDto> cached = idempotencyCache.get(recipientId, dedupKey);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return notificationRepository.findByRecipientIdAndDedupKey(recipientId, dedupKey)
+                .map(NotificationDto::fromEntity);
+    }
+
+    private List<NotificationDto> withoutDuplicates(List<NotificationDto> notificationDtos) {
+        if (notificationDtos.stream().allMatch(dto -> dto.getDedupKey() == null)) {
+            return notificationDtos;
+        }
+        Set<String> seen = new HashSet<>();
+        return notificationDtos.stream()
+                .filter(dto -> dto.getDedupKey() == null
+                        || seen.add(dto.getRecipientId() + '\u0000' + dto.getDedupKey())
+                        && findByDedupKey(dto.getRecipientId(), dto.getDedupKey()).isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private boolean admit(NotificationDto notificationDto, RateLimiting rateLimiting) {
+        NotificationProperties.RateLimit.Mode mode = properties.getRateLimit().getMode();
+        String recipientId = notificationDto.getRecipientId();
+        if (rateLimiting == RateLimiting.EXEMPT || mode == NotificationProperties.RateLimit.Mode.OFF
+                || recipientRateLimiter.tryAcquire(recipientId)) {
+            return true;
+        }
+        if (mode == NotificationProperties.RateLimit.Mode.STRICT && rateLimiting == RateLimiting.AS_CONFIGURED) {
+            throw new RateLimitExceededException("Too many notifications for recipient " + recipientId,
+                    recipientRateLimiter.retryAfter(recipientId));
+        }
+        recipientRateLimiter.fold(notificationDto);
+        return false;
+    }
+
+    private void afterCreate(List<NotificationDto> created) {
+        // Push to the recipients once the transaction commits
+        outboxDispatcher.schedule(created);
+
+        created.stream()
+                .collect(Collectors.groupingBy(NotificationDto::getRecipientId, Collectors.counting()))
+                .forEach(this::adjustUnreadCount);
+    }
+
+    /**
+     * The stored template for a title and message, reused if the same text was stored before. Looked up and
+     * stored in a transaction of its own: when a concurrent request stores the same text first, the insert
+     * here fails on the unique content hash without affecting the caller's transaction, and the winner's
+     * template, committed by then, is looked up again.
+     */
+    private NotificationTemplate sharedTemplate(String title, String message) {
+        String contentHash = NotificationTemplate.contentHash(title, message);
+        try {
+            return templateTransaction.execute(tx -> findOrStoreTemplate(title, message, contentHash));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race to store the same text; the winner's template is committed and found now
+            return templateTransaction.execute(tx -> findOrStoreTemplate(title, message, contentHash));
+        }
+    }
+
+    private NotificationTemplate findOrStoreTemplate(String title, String message, String contentHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return templateRepository.findByContentHash(contentHash)
+                .filter(existing -> templateRepository.markUsed(existing.getId(), now) > 0)
+                .orElseGet(() -> templateRepository.saveAndFlush(NotificationTemplate.builder()
+                        .title(title)
+                        .message(message)
+                        .contentHash(contentHash)
+                        .lastUsedAt(now)
+                        .build()));
+    }
+
+    private Map<Text, NotificationTemplate> templatesForRepeatedTexts(List<NotificationDto> notificationDtos) {
+        Map<Text, Long> copies = notificationDtos.stream()
+                .filter(dto -> dto.getTitle() != null && dto.getMessage() != null)
+                .collect(Collectors.groupingBy(Text::of, Collectors.counting()));
+        Map<Text, NotificationTemplate> templates = new HashMap<>();
+        copies.forEach((text, count) -> {
+            if (count > 1) {
+                templates.put(text, sharedTemplate(text.title(), text.message()));
+            }
+        });
+        return templates;
+    }
+
+    private int broadcastTo(NotificationTemplate template, BroadcastRequest request, List<String> recipientIds,
+                            BroadcastPayload payload) {
+        String dedupKey = request.getDedupKey();
+        if (dedupKey != null) {
+            Set<String> reached = new HashSet<>(
+                    notificationRepository.findRecipientIdsWithDedupKey(recipientIds, dedupKey));
+            recipientIds = recipientIds.stream()
+                    .filter(recipientId -> !reached.contains(recipientId))
+                    .collect(Collectors.toList());
+            if (recipientIds.isEmpty()) {
+                return 0;
+            }
+        }
+        List<Notification> rows = recipientIds.stream()
+                .map(recipientId -> Notification.builder()
+                        .recipientId(recipientId)
+                        .type(request.getType())
+                        .status(Notification.NotificationStatus.UNREAD)
+                        .dedupKey(dedupKey)
+                        .template(template)
+                        .build())
+                .collect(Collectors.toList());
+
+        Timer.Sample persist = Timer.start();
+        List<NotificationDto> saved = notificationRepository.saveAll(rows).stream()
+                .map(NotificationDto::fromEntity)
+                .collect(Collectors.toList());
+        outboxDispatcher.schedule(saved, payload::serialize);
+        saved.forEach(dto -> adjustUnreadCount(dto.getRecipientId(), 1));
+        entityManager.flush();
+        persist.stop(batchPersistTimer);
+        entityManager.clear();
+        return saved.size();
+    }
+
+    private void invalidateCached(BulkNotificationRequest request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            notificationCache.invalidate(request.getIds());
+        } else {
+            notificationCache.invalidateRecipient(request.getUserId());
+        }
+    }
+
+    private void adjustUnreadCount(String recipientId, long delta) {
+        unreadCountCache.adjust(recipientId, delta);
+        unreadCountPublisher.record(recipientId, delta);
+    }
+
+    private Notification toEntity(NotificationDto notificationDto) {
+        return toEntity(notificationDto, null);
+    }
+
+    private Notification toEntity(NotificationDto notificationDto, NotificationTemplate template) {
+        return Notification.builder()
+                .title(template == null ? notificationDto.getTitle() : null)
+                .message(template == null ? notificationDto.getMessage() : null)
+                .template(template)
+                .recipientId(notificationDto.getRecipientId())
+                .type(notificationDto.getType())
+                .status(Notification.NotificationStatus.UNREAD)  // Explicitly set status to UNREAD
+                .dedupKey(notificationDto.getDedupKey())
+                .build();
+    }
+
+    /**
+     * How a create treats notifications over the per-recipient rate limit: as {@code notification.rate-limit.mode}
+     * says, folded into digests even in {@code strict} mode, or not limited at all.
+     */
+    private enum RateLimiting {
+        AS_CONFIGURED, FOLD, EXEMPT
+    }
+
+    private record Text(String title, String message) {
+        static Text of(NotificationDto notificationDto) {
+            return new Text(notificationDto.getTitle(), notificationDto.getMessage());
+        }
     }
 }
@@ -0,0 +1,270 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.config.ThreadFactories;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.OutboxEvent;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.OutboxEventRepository;
+import com.proxyapi.notificationservice.websocket.NotificationDestinations;
+import com.proxyapi.notificationservice.websocket.SerializedNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers WebSocket pushes for notifications through a transactional outbox.
+ * <p>
+ * Callers record the push inside their transaction; once it commits the push is handed to a bounded
+ * executor, so a slow broker never holds a database connection and rolled back notifications are never
+ * delivered. Anything the executor could not take, or that failed, is picked up again by a poller. Pushes are
+ * ordered by type in the {@link DeliveryScheduler}; an entry counts as delivered once the fan-out accepted it.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher implements DisposableBean {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationRepository notificationRepository;
+    private final DeliveryScheduler deliveryScheduler;
+    private final NotificationProperties.Outbox settings;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter redeliveredCounter;
+    private final Timer pushTimer;
+    private final Timer redeliveryPushTimer;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            NotificationRepository notificationRepository,
+                            DeliveryScheduler deliveryScheduler,
+                            NotificationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationRepository = notificationRepository;
+        this.deliveryScheduler = deliveryScheduler;
+        this.settings = properties.getOutbox();
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(ThreadFactories.create("outbox-dispatch-", properties));
+        executor.setCorePoolSize(settings.getDispatchThreads());
+        executor.setMaxPoolSize(settings.getDispatchThreads());
+        executor.setQueueCapacity(settings.getQueueCapacity());
+        executor.initialize();
+
+        this.dispatchedCounter = Counter.builder("notification.outbox.dispatched")
+                .description("WebSocket pushes handed to the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.dispatch.failed")
+                .description("WebSocket pushes that failed and were left for redelivery")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notification.outbox.dispatch.rejected")
+                .description("WebSocket pushes deferred to the poller because a delivery queue was full")
+                .register(meterRegistry);
+        this.redeliveredCounter = Counter.builder("notification.outbox.redelivered")
+                .description("WebSocket pushes recovered by the outbox poller")
+                .register(meterRegistry);
+        this.pushTimer = Timer.builder("notification.push")
+                .description("Time from a push becoming due until the fan-out accepted it")
+                .tag("path", "direct")
+                .register(meterRegistry);
+        this.redeliveryPushTimer = Timer.builder("notification.push")
+                .description("Time from a push becoming due until the fan-out accepted it")
+                .tag("path", "redelivery")
+                .register(meterRegistry);
+        Gauge.builder("notification.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox entry")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records outbox entries for the given (already persisted) notifications and hands them to the
+     * dispatch executor once the current transaction commits.
+     */
+    public void schedule(List<NotificationDto> notifications) {
+        schedule(notifications, null);
+    }
+
+    /**
+     * Same as {@link #schedule(List)}, but the pushes send what {@code serializer} produces for each
+     * notification. Redeliveries are converted as usual.
+     */
+    public void schedule(List<NotificationDto> notifications,
+                         Function<NotificationDto, SerializedNotification> serializer) {
+        List<OutboxEvent> events = notifications.stream()
+                .map(dto -> OutboxEvent.builder()
+                        .notificationId(dto.getId())
+                        .recipientId(dto.getRecipientId())
+                        .build())
+                .collect(Collectors.toList());
+        outboxEventRepository.saveAll(events);
+
+        Map<Long, OutboxEvent> eventsByNotification = events.stream()
+                .collect(Collectors.toMap(OutboxEvent::getNotificationId, Function.identity()));
+        List<Pending> pending = notifications.stream()
+                .map(dto -> new Pending(eventsByNotification.get(dto.getId()).getId(), dto, serializer))
+                .collect(Collectors.toList());
+
+        AfterCommit.run(() -> submit(pending));
+    }
+
+    private void submit(List<Pending> pending) {
+        long committedAt = System.nanoTime();
+        int chunkSize = settings.getPollBatchSize();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Pending> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            chunk.forEach(p -> inFlight.add(p.eventId()));
+            try {
+                executor.execute(() -> chunk.forEach(p -> dispatch(p, false, committedAt)));
+            } catch (RejectedExecutionException e) {
+                // Executor is saturated; the poller will deliver these once they pass the redelivery delay
+                log.debug("Outbox executor saturated, deferring {} pushes to the poller", chunk.size());
+                rejectedCounter.increment(chunk.size());
+                chunk.forEach(p -> inFlight.remove(p.eventId()));
+            }
+        }
+    }
+
+    /**
+     * @param startedAt when the push became due: the commit for direct pushes, the poll for redeliveries
+     */
+    private void dispatch(Pending pending, boolean redelivery, long startedAt) {
+        String destination = NotificationDestinations.inbox(pending.notification().getRecipientId());
+        CompletableFuture<Void> published;
+        try {
+            published = pending.serializer() != null
+                    ? deliveryScheduler.submit(destination, pending.serializer().apply(pending.notification()))
+                    : deliveryScheduler.submit(destination, pending.notification());
+        } catch (RuntimeException e) {
+            published = CompletableFuture.failedFuture(e);
+        }
+        published.whenComplete((ignored, e) -> {
+            if (e == null) {
+                delivered.add(pending.eventId());
+                dispatchedCounter.increment();
+                long elapsed = System.nanoTime() - startedAt;
+                if (redelivery) {
+                    redeliveryPushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    redeliveredCounter.increment();
+                } else {
+                    pushTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                }
+            } else if (unwrap(e) instanceof RejectedExecutionException) {
+                // Expected under load and logged once per push, so no stack trace; the poller redelivers it
+                log.debug("Push of notification {} rejected: {}", pending.notification().getId(),
+                        unwrap(e).getMessage());
+                rejectedCounter.increment();
+            } else {
+                log.warn("Failed to push notification {}", pending.notification().getId(), e);
+                failedCounter.increment();
+            }
+            inFlight.remove(pending.eventId());
+        });
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Removes delivered entries in batches and redelivers entries that have been pending for longer
+     * than {@code notification.outbox.redelivery-delay}.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval}")
+    public void poll() {
+        purgeDelivered();
+        redeliverStale();
+        lagMillis.set(outboxEventRepository.findFirstByOrderByCreatedAtAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    private void purgeDelivered() {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = delivered.poll()) != null) {
+            ids.add(id);
+            if (ids.size() == settings.getPollBatchSize()) {
+                outboxEventRepository.deleteAllByIdInBatch(ids);
+                ids = new ArrayList<>();
+            }
+        }
+        if (!ids.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    private void redeliverStale() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settings.getRedeliveryDelay());
+        List<OutboxEvent> stale = outboxEventRepository
+                .findByCreatedAtBeforeOrderByCreatedAtAsc(cutoff, Limit.of(settings.getPollBatchSize()))
+                .stream()
+                .filter(event -> !inFlight.contains(event.getId()))
+                .collect(Collectors.toList());
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        Map<Long, NotificationDto> notifications = notificationRepository
+                .findAllById(stale.stream().map(OutboxEvent::getNotificationId).collect(Collectors.toList()))
+                .stream()
+                .map(NotificationDto::fromEntity)
+                .collect(Collectors.toMap(NotificationDto::getId, Function.identity()));
+
+        long polledAt = System.nanoTime();
+        List<Long> orphaned = new ArrayList<>();
+        for (OutboxEvent event : stale) {
+            NotificationDto notification = notifications.get(event.getNotificationId());
+            if (notification == null) {
+                // Notification was deleted before it could be pushed
+                orphaned.add(event.getId());
+            } else {
+                inFlight.add(event.getId());
+                dispatch(new Pending(event.getId(), notification, null), true, polledAt);
+            }
+        }
+        if (!orphaned.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(orphaned);
+        }
+        purgeDelivered();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private record Pending(Long eventId, NotificationDto notification,
+                           Function<NotificationDto, SerializedNotification> serializer) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.proxyapi.notificationservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-recipient token buckets limiting how fast notifications are accepted for one user, plus the
+ * notifications folded into digests while a recipient is over the limit.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next notification
+ * (GCRA), so admission is one CAS with no locking. A bucket untouched for longer than it takes to refill
+ * carries no state, so buckets expire after that long; beyond {@code max-entries} Caffeine evicts by recency
+ * and frequency, and an evicted recipient starts again with a full bucket.
+ */
+@Component
+public class RecipientRateLimiter {
+
+    private final NotificationProperties.RateLimit settings;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<String, Digest> digests = new ConcurrentHashMap<>();
+
+    public RecipientRateLimiter(NotificationProperties properties) {
+        this.settings = properties.getRateLimit();
+        this.intervalNanos = (long) (1_000_000_000L / settings.getRatePerSecond());
+        this.capacityNanos = intervalNanos * Math.max(1, settings.getBurst());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                // A bucket is never more than one burst plus one interval ahead of its last use
+                .expireAfterAccess(Duration.ofNanos(capacityNanos + intervalNanos))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code recipientId}.
+     *
+     * @return whether the notification is within the recipient's limit
+     */
+    public boolean tryAcquire(String recipientId) {
+        AtomicLong bucket = buckets.get(recipientId, id -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (next - now > capacityNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Time until {@code recipientId} has a token again.
+     */
+    public Duration retryAfter(String recipientId) {
+        AtomicLong bucket = buckets.policy().getIfPresentQuietly(recipientId);
+        if (bucket == null) {
+            return Duration.ZERO;
+        }
+        long wait = bucket.get() + intervalNanos - capacityNanos - System.nanoTime();
+        return Duration.ofNanos(Math.max(0L, wait));
+    }
+
+    /**
+     * Folds an over-limit notification into its recipient's pending digest.
+     */
+    public void fold(NotificationDto notification) {
+        digests.compute(notification.getRecipientId(), (id, digest) -> {
+            Digest folded = digest != null ? digest : new Digest(id);
+            folded.add(notification);
+            return folded;
+        });
+    }
+
+    /**
+     * Removes and returns the pending digests, one per recipient.
+     */
+    public List<Digest> drainDigests() {
+        List<Digest> drained = new ArrayList<>();
+        for (String recipientId : digests.keySet()) {
+            Digest digest = digests.remove(recipientId);
+            if (digest != null) {
+                drained.add(digest);
+            }
+        }
+        return drained;
+    }
+
+    public int size() {
+        buckets.cleanUp();
+        return (int) buckets.estimatedSize();
+    }
+
+    /**
+     * Notifications folded for one recipient since the last flush. Guarded by the digest map's per-key lock.
+     */
+    public static final class Digest {
+        private final String recipientId;
+        private int count;
+        private Notification.NotificationType type;
+        private String latestTitle;
+
+        private Digest(String recipientId) {
+            this.recipientId = recipientId;
+        }
+
+        private void add(NotificationDto notification) {
+            count++;
+            latestTitle = notification.getTitle();
+            if (type == null || severity(notification.getType()) > severity(type)) {
+                type = notification.getType();
+            }
+        }
+
+        /**
+         * The summary notification delivered in place of the folded ones, typed as the most severe of them.
+         */
+        public NotificationDto toNotification() {
+            return NotificationDto.builder()
+                    .recipientId(recipientId)
+                    .type(type != null ? type : Notification.NotificationType.INFO)
+                    .title("You have " + count + " more notifications")
+                    .message(count + " notifications arrived too quickly and were grouped into this digest. "
+                            + "Latest: " + latestTitle)
+                    .build();
+        }
+
+        public String getRecipientId() {
+            return recipientId;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        private static int severity(Notification.NotificationType type) {
+            if (type == null) {
+                return -1;
+            }
+            return switch (type) {
+                case ERROR -> 3;
+                case WARNING -> 2;
+                case INFO -> 1;
+                case SUCCESS -> 0;
+            };
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.NotificationTemplateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the notifications table proportional to recent activity: read notifications older than
+ * {@code notification.retention.archive-after} are archived, and anything older than {@code delete-after} is
+ * deleted. Templates are deleted once no notification refers to them and they were not reused for as long.
+ * <p>
+ * Work is done in chunks of {@code chunk-size} rows, each in its own short transaction, so the job never holds
+ * row locks for long and concurrent reads and writes interleave with it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notification.retention", name = "enabled", havingValue = "true")
+public class RetentionJob {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationTemplateRepository templateRepository;
+    private final NotificationCache notificationCache;
+    private final UnreadCountCache unreadCountCache;
+    private final UnreadCountPublisher unreadCountPublisher;
+    private final NotificationProperties.Retention settings;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedCounter;
+    private final Counter deletedCounter;
+
+    public RetentionJob(NotificationRepository notificationRepository,
+                        NotificationTemplateRepository templateRepository,
+                        NotificationCache notificationCache,
+                        UnreadCountCache unreadCountCache,
+                        UnreadCountPublisher unreadCountPublisher,
+                        NotificationProperties properties,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.templateRepository = templateRepository;
+        this.notificationCache = notificationCache;
+        this.unreadCountCache = unreadCountCache;
+        this.unreadCountPublisher = unreadCountPublisher;
+        this.settings = properties.getRetention();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCounter = Counter.builder("notification.retention.archived")
+                .description("Read notifications moved to ARCHIVED by the retention job")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("notification.retention.deleted")
+                .description("Notifications deleted by the retention job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retention.interval}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        int archived = archive(now.minus(settings.getArchiveAfter()));
+        int deleted = 0;
+        for (Notification.NotificationStatus status : Notification.NotificationStatus.values()) {
+            deleted += delete(status, now.minus(settings.getDeleteAfter()));
+        }
+        // Reusing a template bumps its lastUsedAt under a row lock, so one being referenced again is skipped
+        int templates = transactionTemplate.execute(tx ->
+                templateRepository.deleteUnreferencedUnusedSince(now.minus(settings.getDeleteAfter())));
+        if (archived > 0 || deleted > 0 || templates > 0) {
+            log.info("Retention archived {} and deleted {} notifications and {} templates",
+                    archived, deleted, templates);
+        }
+    }
+
+    /**
+     * Archives read notifications created before {@code cutoff}.
+     *
+     * @return the number of notifications processed; rows changed concurrently are counted but left alone
+     */
+    public int archive(LocalDateTime cutoff) {
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(tx -> {
+                List<Long> ids = candidates(Notification.NotificationStatus.READ, cutoff).stream()
+                        .map(NotificationRepository.RetentionCandidate::getId)
+                        .collect(Collectors.toList());
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                int updated = notificationRepository.updateStatusWhereIdIn(ids,
+                        Notification.NotificationStatus.READ, Notification.NotificationStatus.ARCHIVED, LocalDateTime.now());
+                notificationCache.invalidate(ids);
+                archivedCounter.increment(updated);
+                return ids.size();
+            });
+            total += archived;
+        } while (archived == settings.getChunkSize());
+        return total;
+    }
+
+    /**
+     * Deletes notifications in {@code status} created before {@code cutoff}.
+     *
+     * @return the number of notifications processed; rows changed concurrently are counted but left alone
+     */
+    public int delete(Notification.NotificationStatus status, LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(tx -> {
+                List<NotificationRepository.RetentionCandidate> candidates = candidates(status, cutoff);
+                if (candidates.isEmpty()) {
+                    return 0;
+                }
+                List<Long> ids = candidates.stream()
+                        .map(NotificationRepository.RetentionCandidate::getId)
+                        .collect(Collectors.toList());
+                // Rows whose status changed since the select are skipped and picked up by a later pass; the
+                // unread counters adjusted for them are repaired by the periodic reconciliation
+                int removed = notificationRepository.deleteWhereIdIn(ids, status);
+                notificationCache.invalidate(ids);
+                if (status == Notification.NotificationStatus.UNREAD) {
+                    candidates.stream()
+                            .collect(Collectors.groupingBy(
+                                    NotificationRepository.RetentionCandidate::getRecipientId, Collectors.counting()))
+                            .forEach((recipientId, count) -> {
+                                unreadCountCache.adjust(recipientId, -count);
+                                unreadCountPublisher.record(recipientId, -count);
+                            });
+                }
+                deletedCounter.increment(removed);
+                return ids.size();
+            });
+            total += deleted;
+        } while (deleted == settings.getChunkSize());
+        return total;
+    }
+
+    private List<NotificationRepository.RetentionCandidate> candidates(Notification.NotificationStatus status,
+                                                                       LocalDateTime cutoff) {
+        return notificationRepository.findRetentionCandidates(status, cutoff, Limit.of(settings.getChunkSize()));
+    }
+}
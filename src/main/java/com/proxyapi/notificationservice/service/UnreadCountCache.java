@@ -0,0 +1,132 @@
+package com.proxyapi.notificationservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory unread counters keyed by recipient, so polling clients do not issue a COUNT query per request.
+ * <p>
+ * Counters are seeded from the database on first read, adjusted after each committed create/read/delete,
+ * and periodically reconciled against the database to repair drift from concurrent seeding. Counters not
+ * read for {@code idle-timeout} expire, and beyond {@code max-entries} Caffeine evicts by recency and
+ * frequency; evicted recipients are re-seeded on their next read.
+ */
+@Component
+public class UnreadCountCache {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationProperties.UnreadCounts settings;
+    private final Cache<String, AtomicLong> counters;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    public UnreadCountCache(NotificationRepository notificationRepository, NotificationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.settings = properties.getUnreadCounts();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterAccess(settings.getIdleTimeout())
+                .build();
+        this.hitTimer = Timer.builder("notification.unread.count")
+                .description("Time to read a recipient's unread count")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.missTimer = Timer.builder("notification.unread.count")
+                .description("Time to read a recipient's unread count")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    public long get(String recipientId) {
+        long start = System.nanoTime();
+        AtomicLong counter = counters.getIfPresent(recipientId);
+        Timer timer = hitTimer;
+        if (counter == null) {
+            long unread = notificationRepository.countByRecipientIdAndStatus(
+                    recipientId, Notification.NotificationStatus.UNREAD);
+            counter = counters.asMap().computeIfAbsent(recipientId, id -> new AtomicLong(unread));
+            timer = missTimer;
+        }
+        long value = Math.max(0L, counter.get());
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return value;
+    }
+
+    /**
+     * The cached count, without querying the database or seeding the cache when the recipient is not cached.
+     * Does not count as a read for {@code idle-timeout}.
+     */
+    public OptionalLong peek(String recipientId) {
+        AtomicLong counter = counters.policy().getIfPresentQuietly(recipientId);
+        return counter != null ? OptionalLong.of(Math.max(0L, counter.get())) : OptionalLong.empty();
+    }
+
+    /**
+     * Applies {@code delta} to a cached counter once the current transaction commits. Recipients that are
+     * not cached are left alone; they are seeded with the committed count on their next read.
+     */
+    public void adjust(String recipientId, long delta) {
+        AfterCommit.run(() -> {
+            AtomicLong counter = counters.policy().getIfPresentQuietly(recipientId);
+            if (counter != null) {
+                counter.addAndGet(delta);
+            }
+        });
+    }
+
+    public void invalidate(String recipientId) {
+        AfterCommit.run(() -> counters.invalidate(recipientId));
+    }
+
+    public void invalidateAll() {
+        counters.invalidateAll();
+    }
+
+    public int size() {
+        counters.cleanUp();
+        return (int) counters.estimatedSize();
+    }
+
+    /**
+     * Resets cached counters to the database count, one grouped query per {@code reconcile-batch-size}
+     * recipients.
+     */
+    @Scheduled(fixedDelayString = "${notification.unread-counts.reconcile-interval}")
+    public void reconcile() {
+        List<String> recipientIds = new ArrayList<>(counters.asMap().keySet());
+        for (int from = 0; from < recipientIds.size(); from += settings.getReconcileBatchSize()) {
+            List<String> chunk = recipientIds.subList(
+                    from, Math.min(from + settings.getReconcileBatchSize(), recipientIds.size()));
+            Map<String, Long> unread = notificationRepository
+                    .countUnreadByRecipientIds(chunk, Notification.NotificationStatus.UNREAD)
+                    .stream()
+                    .collect(Collectors.toMap(
+                            NotificationRepository.RecipientCount::getRecipientId,
+                            NotificationRepository.RecipientCount::getCount));
+
+            for (String recipientId : chunk) {
+                // Quietly, so reconciling does not keep an idle counter alive
+                AtomicLong counter = counters.policy().getIfPresentQuietly(recipientId);
+                if (counter != null) {
+                    counter.set(unread.getOrDefault(recipientId, 0L));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.UnreadCountUpdate;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.websocket.NotificationDestinations;
+import com.proxyapi.notificationservice.websocket.NotificationFanout;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes unread-count changes to {@code /topic/notifications/{userId}/unread} so clients do not have to
+ * poll the count endpoint. Changes are coalesced per user and flushed once per
+ * {@code notification.unread-push.window}, so a burst of notifications produces a handful of frames.
+ * <p>
+ * Only recipients someone may be subscribed for are pushed. Their count comes from the
+ * {@link UnreadCountCache} when it holds one, otherwise from one grouped COUNT query per
+ * {@code reconcile-batch-size} recipients; those counts are not cached, since nobody read them.
+ */
+@Slf4j
+@Component
+public class UnreadCountPublisher {
+
+    private final UnreadCountCache unreadCountCache;
+    private final NotificationRepository notificationRepository;
+    private final NotificationFanout fanout;
+    private final NotificationProperties.UnreadPush settings;
+    private final int batchSize;
+    private final Map<String, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    public UnreadCountPublisher(UnreadCountCache unreadCountCache,
+                                NotificationRepository notificationRepository,
+                                NotificationFanout fanout,
+                                NotificationProperties properties) {
+        this.unreadCountCache = unreadCountCache;
+        this.notificationRepository = notificationRepository;
+        this.fanout = fanout;
+        this.settings = properties.getUnreadPush();
+        this.batchSize = properties.getUnreadCounts().getReconcileBatchSize();
+    }
+
+    /**
+     * Queues a count change for the recipient once the current transaction commits.
+     */
+    public void record(String recipientId, long delta) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        AfterCommit.run(() -> pendingDeltas.computeIfAbsent(recipientId, id -> new LongAdder()).add(delta));
+    }
+
+    @Scheduled(fixedDelayString = "${notification.unread-push.window}")
+    public void flush() {
+        Map<String, Long> deltas = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String recipientId : pendingDeltas.keySet()) {
+            LongAdder delta = pendingDeltas.remove(recipientId);
+            if (delta == null || !fanout.mayHaveSubscribers(NotificationDestinations.unread(recipientId))) {
+                continue;
+            }
+            deltas.put(recipientId, delta.sum());
+            OptionalLong cached = unreadCountCache.peek(recipientId);
+            if (cached.isPresent()) {
+                publish(recipientId, cached.getAsLong(), delta.sum());
+            } else {
+                uncached.add(recipientId);
+            }
+        }
+
+        for (int from = 0; from < uncached.size(); from += batchSize) {
+            List<String> chunk = uncached.subList(from, Math.min(from + batchSize, uncached.size()));
+            Map<String, Long> unread;
+            try {
+                unread = notificationRepository
+                        .countUnreadByRecipientIds(chunk, Notification.NotificationStatus.UNREAD)
+                        .stream()
+                        .collect(Collectors.toMap(
+                                NotificationRepository.RecipientCount::getRecipientId,
+                                NotificationRepository.RecipientCount::getCount));
+            } catch (RuntimeException e) {
+                log.warn("Failed to count unread notifications for {} recipients", chunk.size(), e);
+                continue;
+            }
+            for (String recipientId : chunk) {
+                publish(recipientId, unread.getOrDefault(recipientId, 0L), deltas.get(recipientId));
+            }
+        }
+    }
+
+    private void publish(String recipientId, long unreadCount, long delta) {
+        try {
+            fanout.publish(NotificationDestinations.unread(recipientId), new UnreadCountUpdate(unreadCount, delta));
+        } catch (RuntimeException e) {
+            // Counts are advisory; the next change or a REST read will correct the client
+            log.warn("Failed to push unread count for {}", recipientId, e);
+        }
+    }
+}
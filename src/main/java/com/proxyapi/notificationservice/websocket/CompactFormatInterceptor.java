@@ -0,0 +1,144 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends notifications in {@link CompactNotificationCodec} form to subscriptions that asked for it with an
+ * {@code accept: application/vnd.notification.compact} header on SUBSCRIBE.
+ * <p>
+ * Registered on both client channels: inbound it records which subscriptions negotiated the compact format,
+ * outbound it re-encodes the JSON notification frames the broker sends them. Summary frames stay JSON and
+ * keep their {@code application/json} content type, so clients decode each frame by its content type.
+ * Frames from the fan-outs carry a shared {@link CompactPayload}, so a notification is encoded once however
+ * many compact subscribers it has; other frames, such as replays, are parsed from their JSON.
+ */
+@Slf4j
+@Component
+public class CompactFormatInterceptor implements ChannelInterceptor {
+
+    public static final String ACCEPT_HEADER = "accept";
+
+    private final NotificationProperties.WebSocket.Compact settings;
+    private final ObjectReader reader;
+    private final Map<String, Set<String>> compactSubscriptions = new ConcurrentHashMap<>();
+    private final DistributionSummary jsonBytes;
+    private final DistributionSummary compactBytes;
+
+    public CompactFormatInterceptor(NotificationProperties properties, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.settings = properties.getWebsocket().getCompact();
+        this.reader = objectMapper.readerFor(NotificationDto.class);
+        this.jsonBytes = payloadBytes("json", meterRegistry);
+        this.compactBytes = payloadBytes("compact", meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (messageType == null || sessionId == null || subscriptionId == null) {
+            return message;
+        }
+        switch (messageType) {
+            case SUBSCRIBE -> {
+                if (settings.isEnabled() && acceptsCompact(message)) {
+                    compactSubscriptions.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet())
+                            .add(subscriptionId);
+                }
+            }
+            case UNSUBSCRIBE -> {
+                Set<String> subscriptions = compactSubscriptions.get(sessionId);
+                if (subscriptions != null) {
+                    subscriptions.remove(subscriptionId);
+                }
+            }
+            case MESSAGE -> {
+                Set<String> subscriptions = compactSubscriptions.get(sessionId);
+                if (subscriptions != null && subscriptions.contains(subscriptionId)) {
+                    return toCompact(message);
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        compactSubscriptions.remove(event.getSessionId());
+    }
+
+    private Message<?> toCompact(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (!(message.getPayload() instanceof byte[] json)
+                || !NotificationDestinations.isInbox(accessor.getDestination())
+                || accessor.getFirstNativeHeader(SlowConsumerInterceptor.SUMMARY_HEADER) != null
+                || (contentType != null && !contentType.equalsTypeAndSubtype(MimeTypeUtils.APPLICATION_JSON))) {
+            return message;
+        }
+        byte[] compact;
+        try {
+            compact = message.getHeaders().get(CompactPayload.HEADER) instanceof CompactPayload shared
+                    ? shared.bytes()
+                    : CompactNotificationCodec.encode(reader.readValue(json));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Sending notification frame to session {} as JSON: {}", accessor.getSessionId(), e.getMessage());
+            return message;
+        }
+        jsonBytes.record(json.length);
+        compactBytes.record(compact.length);
+        accessor.setContentType(CompactNotificationCodec.MIME_TYPE);
+        accessor.removeHeader(CompactPayload.HEADER);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(compact, accessor.getMessageHeaders());
+    }
+
+    private static boolean acceptsCompact(Message<?> message) {
+        String accept = SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(ACCEPT_HEADER);
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MimeTypeUtils.parseMimeTypes(accept).stream()
+                    .anyMatch(mimeType -> mimeType.equalsTypeAndSubtype(CompactNotificationCodec.MIME_TYPE));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static DistributionSummary payloadBytes(String format, MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("notification.websocket.payload.bytes")
+                .description("Size of notification frames sent to compact subscriptions, in each format")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,231 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Binary encoding of {@link NotificationDto} for WebSocket clients that ask for {@link #MIME_TYPE}.
+ * <p>
+ * Layout: a version byte, a varint bitmask of the fields present, then each present field in declaration
+ * order. Ids and timestamps are zigzag varints, timestamps as epoch milliseconds of the UTC-interpreted
+ * {@code LocalDateTime} (sub-millisecond precision is dropped), enums as one ordinal byte and strings as a
+ * varint length followed by UTF-8. Enum constants may therefore only be appended, never reordered.
+ */
+public final class CompactNotificationCodec {
+
+    public static final MimeType MIME_TYPE = new MimeType("application", "vnd.notification.compact");
+
+    private static final int VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int TITLE = 1 << 1;
+    private static final int MESSAGE = 1 << 2;
+    private static final int RECIPIENT_ID = 1 << 3;
+    private static final int STATUS = 1 << 4;
+    private static final int TYPE = 1 << 5;
+    private static final int CREATED_AT = 1 << 6;
+    private static final int UPDATED_AT = 1 << 7;
+    private static final int DEDUP_KEY = 1 << 8;
+
+    private static final Notification.NotificationStatus[] STATUSES = Notification.NotificationStatus.values();
+    private static final Notification.NotificationType[] TYPES = Notification.NotificationType.values();
+
+    private CompactNotificationCodec() {
+    }
+
+    public static byte[] encode(NotificationDto notification) {
+        int fields = (notification.getId() != null ? ID : 0)
+                | (notification.getTitle() != null ? TITLE : 0)
+                | (notification.getMessage() != null ? MESSAGE : 0)
+                | (notification.getRecipientId() != null ? RECIPIENT_ID : 0)
+                | (notification.getStatus() != null ? STATUS : 0)
+                | (notification.getType() != null ? TYPE : 0)
+                | (notification.getCreatedAt() != null ? CREATED_AT : 0)
+                | (notification.getUpdatedAt() != null ? UPDATED_AT : 0)
+                | (notification.getDedupKey() != null ? DEDUP_KEY : 0);
+
+        Writer out = new Writer();
+        out.writeByte(VERSION);
+        out.writeVarLong(fields);
+        if ((fields & ID) != 0) {
+            out.writeVarLong(zigzag(notification.getId()));
+        }
+        if ((fields & TITLE) != 0) {
+            out.writeString(notification.getTitle());
+        }
+        if ((fields & MESSAGE) != 0) {
+            out.writeString(notification.getMessage());
+        }
+        if ((fields & RECIPIENT_ID) != 0) {
+            out.writeString(notification.getRecipientId());
+        }
+        if ((fields & STATUS) != 0) {
+            out.writeByte(notification.getStatus().ordinal());
+        }
+        if ((fields & TYPE) != 0) {
+            out.writeByte(notification.getType().ordinal());
+        }
+        if ((fields & CREATED_AT) != 0) {
+            out.writeVarLong(zigzag(toEpochMilli(notification.getCreatedAt())));
+        }
+        if ((fields & UPDATED_AT) != 0) {
+            out.writeVarLong(zigzag(toEpochMilli(notification.getUpdatedAt())));
+        }
+        if ((fields & DEDUP_KEY) != 0) {
+            out.writeString(notification.getDedupKey());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code payload} is truncated, from another version, or names an
+     *                                  unknown enum constant
+     */
+    public static NotificationDto decode(byte[] payload) {
+        Reader in = new Reader(payload);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported compact notification version " + version);
+        }
+        long fields = in.readVarLong();
+        NotificationDto notification = new NotificationDto();
+        if ((fields & ID) != 0) {
+            notification.setId(unzigzag(in.readVarLong()));
+        }
+        if ((fields & TITLE) != 0) {
+            notification.setTitle(in.readString());
+        }
+        if ((fields & MESSAGE) != 0) {
+            notification.setMessage(in.readString());
+        }
+        if ((fields & RECIPIENT_ID) != 0) {
+            notification.setRecipientId(in.readString());
+        }
+        if ((fields & STATUS) != 0) {
+            notification.setStatus(constant(STATUSES, in.readByte()));
+        }
+        if ((fields & TYPE) != 0) {
+            notification.setType(constant(TYPES, in.readByte()));
+        }
+        if ((fields & CREATED_AT) != 0) {
+            notification.setCreatedAt(fromEpochMilli(unzigzag(in.readVarLong())));
+        }
+        if ((fields & UPDATED_AT) != 0) {
+            notification.setUpdatedAt(fromEpochMilli(unzigzag(in.readVarLong())));
+        }
+        if ((fields & DEDUP_KEY) != 0) {
+            notification.setDedupKey(in.readString());
+        }
+        return notification;
+    }
+
+    private static long toEpochMilli(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMilli(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static <E extends Enum<E>> E constant(E[] constants, int ordinal) {
+        if (ordinal >= constants.length) {
+            throw new IllegalArgumentException("Unknown " + constants[0].getDeclaringClass().getSimpleName()
+                    + " ordinal " + ordinal);
+        }
+        return constants[ordinal];
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at offset " + position);
+        }
+
+        private String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > buffer.length - position) {
+                throw new IllegalArgumentException("Truncated compact notification");
+            }
+            String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+
+        private void require(int bytes) {
+            if (position + bytes > buffer.length) {
+                throw new IllegalArgumentException("Truncated compact notification");
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+
+/**
+ * Converts {@link NotificationDto} payloads to and from {@link CompactNotificationCodec}. Only applies to
+ * messages whose content type is {@link CompactNotificationCodec#MIME_TYPE}, so JSON stays the default.
+ */
+public class CompactNotificationMessageConverter extends AbstractMessageConverter {
+
+    public CompactNotificationMessageConverter() {
+        super(CompactNotificationCodec.MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return NotificationDto.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        Object payload = message.getPayload();
+        return payload instanceof byte[] bytes ? CompactNotificationCodec.decode(bytes) : null;
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return CompactNotificationCodec.encode((NotificationDto) payload);
+    }
+}
@@ -0,0 +1,51 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+
+import java.io.IOException;
+
+/**
+ * The {@link CompactNotificationCodec} form of one notification frame. Fan-outs attach it to the frame under
+ * {@link #HEADER} when handing it to the broker; the broker copies headers onto each subscriber's frame, so
+ * every compact subscription of the destination shares one instance. It is encoded on first use, so a frame
+ * nobody asked the compact format for is never encoded.
+ */
+public final class CompactPayload {
+
+    public static final String HEADER = "compactPayload";
+
+    private final Source source;
+    private volatile byte[] bytes;
+
+    private CompactPayload(Source source) {
+        this.source = source;
+    }
+
+    public static CompactPayload of(NotificationDto notification) {
+        return new CompactPayload(() -> notification);
+    }
+
+    /**
+     * For frames that only exist as JSON, such as those received from other nodes; the JSON is parsed at
+     * most once.
+     */
+    public static CompactPayload parsing(byte[] json, ObjectReader reader) {
+        return new CompactPayload(() -> reader.readValue(json));
+    }
+
+    public byte[] bytes() throws IOException {
+        byte[] encoded = bytes;
+        if (encoded == null) {
+            // Racing subscribers encode identical bytes, so the last write wins harmlessly
+            encoded = CompactNotificationCodec.encode(source.read());
+            bytes = encoded;
+        }
+        return encoded;
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        NotificationDto read() throws IOException;
+    }
+}
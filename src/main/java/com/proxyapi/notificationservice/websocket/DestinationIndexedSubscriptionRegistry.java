@@ -0,0 +1,116 @@
+package com.proxyapi.notificationservice.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Subscription registry for the simple broker that indexes subscriptions by exact destination.
+ * <p>
+ * Every user subscribes to their own {@code /topic/notifications/{userId}}, so lookups are a single hash
+ * probe regardless of how many users are connected. Subscriptions to destination patterns are still
+ * supported but are kept apart and matched with a {@link PathMatcher}, as the default registry does.
+ */
+public class DestinationIndexedSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // destination -> sessionId -> subscriptionIds
+    private final Map<String, Map<String, Set<String>>> exact = new ConcurrentHashMap<>();
+
+    // pattern -> sessionId -> subscriptionIds
+    private final Map<String, Map<String, Set<String>>> patterns = new ConcurrentHashMap<>();
+
+    // sessionId -> subscriptionId -> destination
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination,
+                                           Message<?> message) {
+        // One compute per destination, so a concurrent remove cannot drop the map this add lands in
+        index(destination).compute(destination, (d, bySession) -> {
+            Map<String, Set<String>> subscribers = bySession != null ? bySession : new ConcurrentHashMap<>();
+            subscribers.computeIfAbsent(sessionId, s -> ConcurrentHashMap.newKeySet()).add(subscriptionId);
+            return subscribers;
+        });
+        sessions.computeIfAbsent(sessionId, s -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            remove(destination, sessionId, subscriptionId);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) -> remove(destination, sessionId, subscriptionId));
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        Map<String, Set<String>> subscribers = exact.get(destination);
+        if (subscribers != null) {
+            subscribers.forEach((sessionId, ids) -> result.addAll(sessionId, ids.stream().toList()));
+        }
+        if (!patterns.isEmpty()) {
+            patterns.forEach((pattern, bySession) -> {
+                if (pathMatcher.match(pattern, destination)) {
+                    bySession.forEach((sessionId, ids) -> result.addAll(sessionId, ids.stream().toList()));
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Whether any session is subscribed to this destination, directly or through a pattern.
+     */
+    public boolean hasSubscriptions(String destination) {
+        Map<String, Set<String>> subscribers = exact.get(destination);
+        if (subscribers != null && !subscribers.isEmpty()) {
+            return true;
+        }
+        return patterns.entrySet().stream()
+                .anyMatch(entry -> !entry.getValue().isEmpty() && pathMatcher.match(entry.getKey(), destination));
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getSubscriptionCount() {
+        return sessions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private Map<String, Map<String, Set<String>>> index(String destination) {
+        return pathMatcher.isPattern(destination) ? patterns : exact;
+    }
+
+    private void remove(String destination, String sessionId, String subscriptionId) {
+        index(destination).computeIfPresent(destination, (d, bySession) -> {
+            bySession.computeIfPresent(sessionId, (s, ids) -> {
+                ids.remove(subscriptionId);
+                return ids.isEmpty() ? null : ids;
+            });
+            return bySession.isEmpty() ? null : bySession;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single-node fan-out: payloads go straight to this node's broker, a {@link SerializedNotification} without
+ * being converted again and with its {@link CompactPayload} attached. Notifications are also kept in the {@link ReplayBuffer} for clients that reconnect.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.cluster", name = "mode", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationFanout implements NotificationFanout {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ReplayBuffer replayBuffer;
+    private final DestinationIndexedSubscriptionRegistry subscriptionRegistry;
+
+    @Override
+    public CompletableFuture<Void> publish(String destination, Object payload) {
+        if (payload instanceof SerializedNotification serialized) {
+            replayBuffer.record(destination, serialized.notification().getId(), serialized.json());
+            messagingTemplate.send(destination, MessageBuilder
+                    .withPayload(serialized.json())
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                    .setHeader(CompactPayload.HEADER, CompactPayload.of(serialized.notification()))
+                    .build());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (payload instanceof NotificationDto notification) {
+            replayBuffer.record(destination, notification);
+        }
+        messagingTemplate.convertAndSend(destination, payload);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean mayHaveSubscribers(String destination) {
+        return subscriptionRegistry.hasSubscriptions(destination);
+    }
+}
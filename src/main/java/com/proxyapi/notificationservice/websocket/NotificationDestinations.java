@@ -0,0 +1,41 @@
+package com.proxyapi.notificationservice.websocket;
+
+/**
+ * STOMP destinations notifications are published to: each recipient's inbox
+ * {@code /topic/notifications/{userId}} and its unread-count sub-destination
+ * {@code /topic/notifications/{userId}/unread}.
+ */
+public final class NotificationDestinations {
+
+    public static final String PREFIX = "/topic/notifications/";
+
+    private static final String UNREAD_SUFFIX = "/unread";
+
+    private NotificationDestinations() {
+    }
+
+    public static String inbox(String recipientId) {
+        return PREFIX + recipientId;
+    }
+
+    public static String unread(String recipientId) {
+        return PREFIX + recipientId + UNREAD_SUFFIX;
+    }
+
+    /**
+     * Whether the destination is a recipient's inbox, not one of its sub-destinations such as {@code /unread}.
+     */
+    public static boolean isInbox(String destination) {
+        return destination != null
+                && destination.startsWith(PREFIX)
+                && destination.length() > PREFIX.length()
+                && destination.indexOf('/', PREFIX.length()) < 0;
+    }
+
+    /**
+     * The recipient of an inbox destination accepted by {@link #isInbox(String)}.
+     */
+    public static String recipientOf(String inbox) {
+        return inbox.substring(PREFIX.length());
+    }
+}
@@ -0,0 +1,24 @@
+package com.proxyapi.notificationservice.websocket;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers a payload to every WebSocket client subscribed to a destination, wherever in the cluster the
+ * client is connected. Selected with {@code notification.cluster.mode}.
+ */
+public interface NotificationFanout {
+
+    /**
+     * Publishes {@code payload} to {@code destination}. The returned future completes once the payload has
+     * been handed off for delivery, and completes exceptionally if it could not be.
+     */
+    CompletableFuture<Void> publish(String destination, Object payload);
+
+    /**
+     * Whether any client may be subscribed to {@code destination}. Fan-outs that cannot tell, because the
+     * subscribers are spread over the cluster, answer {@code true}.
+     */
+    default boolean mayHaveSubscribers(String destination) {
+        return true;
+    }
+}
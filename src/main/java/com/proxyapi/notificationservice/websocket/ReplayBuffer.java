@@ -0,0 +1,128 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The most recent notifications pushed to each destination, kept as serialized JSON so a reconnecting client
+ * can be sent what it missed without a database query.
+ * <p>
+ * Each destination has a fixed-size ring in push order. The total payload size across rings is capped by
+ * {@code notification.websocket.replay.max-memory}: each ring is weighed by its payload bytes and beyond the
+ * cap Caffeine drops the rings of destinations that are pushed and replayed least. A client is only replayed from a ring that still contains the last notification it saw,
+ * since only then is everything after it known to be there.
+ */
+@Slf4j
+@Component
+public class ReplayBuffer {
+
+    private final NotificationProperties.WebSocket.Replay settings;
+    private final ObjectWriter writer;
+    private final Cache<String, Ring> rings;
+
+    public ReplayBuffer(NotificationProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.settings = properties.getWebsocket().getReplay();
+        this.writer = objectMapper.writerFor(NotificationDto.class);
+        this.rings = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaxMemory().toBytes())
+                .<String, Ring>weigher((destination, ring) -> ring.weight())
+                .build();
+        Gauge.builder("notification.websocket.replay.bytes", this, ReplayBuffer::bytes)
+                .description("Payload bytes held for replay to reconnecting clients")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.replay.destinations", rings, Cache::estimatedSize)
+                .description("Destinations with a replay buffer")
+                .register(meterRegistry);
+    }
+
+    public void record(String destination, NotificationDto notification) {
+        if (!settings.isEnabled() || notification.getId() == null) {
+            return;
+        }
+        try {
+            record(destination, notification.getId(), writer.writeValueAsBytes(notification));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to buffer notification {} for replay", notification.getId(), e);
+        }
+    }
+
+    public void record(String destination, long id, byte[] payload) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        // Added under compute so the ring is re-weighed with its new payload
+        rings.asMap().compute(destination, (d, ring) -> {
+            Ring target = ring != null ? ring : new Ring(settings.getBufferSize());
+            target.add(id, payload);
+            return target;
+        });
+    }
+
+    /**
+     * Payloads pushed to {@code destination} after {@code lastSeenId}, oldest first. Empty if that notification
+     * is not buffered here, in which case what the client missed is unknown to this buffer.
+     */
+    public Optional<List<byte[]>> since(String destination, long lastSeenId) {
+        Ring ring = rings.getIfPresent(destination);
+        return ring != null ? ring.since(lastSeenId) : Optional.empty();
+    }
+
+    public long bytes() {
+        rings.cleanUp();
+        return rings.policy().eviction().orElseThrow().weightedSize().orElse(0L);
+    }
+
+    private static final class Ring {
+        private final long[] ids;
+        private final byte[][] payloads;
+        private int next;
+        private int size;
+        private long bytes;
+
+        private Ring(int capacity) {
+            this.ids = new long[capacity];
+            this.payloads = new byte[capacity][];
+        }
+
+        private synchronized void add(long id, byte[] payload) {
+            byte[] overwritten = payloads[next];
+            ids[next] = id;
+            payloads[next] = payload;
+            next = (next + 1) % ids.length;
+            size = Math.min(size + 1, ids.length);
+            bytes += payload.length - (overwritten != null ? overwritten.length : 0);
+        }
+
+        private synchronized Optional<List<byte[]>> since(long lastSeenId) {
+            // Walk back from the newest entry; a redelivered notification may appear twice
+            for (int back = 1; back <= size; back++) {
+                int slot = Math.floorMod(next - back, ids.length);
+                if (ids[slot] == lastSeenId) {
+                    List<byte[]> missed = new ArrayList<>(back - 1);
+                    for (int forward = back - 1; forward >= 1; forward--) {
+                        missed.add(payloads[Math.floorMod(next - forward, ids.length)]);
+                    }
+                    return Optional.of(missed);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private synchronized int weight() {
+            return (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSummary;
+import com.proxyapi.notificationservice.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays missed notifications to a client that subscribes to {@code /topic/notifications/{userId}} with a
+ * {@code lastSeenId} header, so reconnecting does not require re-fetching the inbox.
+ * <p>
+ * Runs after the broker has registered the subscription, so nothing published meanwhile is lost; a
+ * notification may instead arrive both live and replayed, and clients should ignore ids they already have.
+ * Missed notifications come from the {@link ReplayBuffer} when it still holds the last seen one, otherwise
+ * from a keyset query. When more than {@code buffer-size} were missed, or the last seen notification is
+ * unknown, a single {@link NotificationSummary} frame tells the client to re-fetch instead.
+ */
+@Slf4j
+@Component
+public class ReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String LAST_SEEN_ID_HEADER = "lastSeenId";
+    public static final String REPLAY_HEADER = "x-notification-replay";
+
+    private final ReplayBuffer replayBuffer;
+    private final NotificationService notificationService;
+    private final MessageChannel clientOutboundChannel;
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties.WebSocket.Replay settings;
+    private final Counter bufferCounter;
+    private final Counter databaseCounter;
+    private final Counter unavailableCounter;
+
+    public ReplayInterceptor(ReplayBuffer replayBuffer,
+                             @Lazy NotificationService notificationService,
+                             @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                             ObjectMapper objectMapper,
+                             NotificationProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.replayBuffer = replayBuffer;
+        this.notificationService = notificationService;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getWebsocket().getReplay();
+        this.bufferCounter = replayCounter("buffer", meterRegistry);
+        this.databaseCounter = replayCounter("database", meterRegistry);
+        this.unavailableCounter = replayCounter("unavailable", meterRegistry);
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        if (ex != null || !settings.isEnabled() || !(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        String lastSeenId = accessor.getFirstNativeHeader(LAST_SEEN_ID_HEADER);
+        if (accessor.getMessageType() != SimpMessageType.SUBSCRIBE || lastSeenId == null
+                || !NotificationDestinations.isInbox(destination)) {
+            return;
+        }
+        try {
+            replay(accessor, destination, Long.parseLong(lastSeenId));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring invalid {} header '{}' from session {}", LAST_SEEN_ID_HEADER, lastSeenId,
+                    accessor.getSessionId());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to replay {} to session {}", destination, accessor.getSessionId(), e);
+        }
+    }
+
+    private void replay(SimpMessageHeaderAccessor subscribe, String destination, long lastSeenId)
+            throws JsonProcessingException {
+        Optional<List<byte[]>> buffered = replayBuffer.since(destination, lastSeenId);
+        if (buffered.isPresent()) {
+            bufferCounter.increment();
+            buffered.get().forEach(payload -> send(subscribe, payload, REPLAY_HEADER));
+            return;
+        }
+
+        // One extra row tells whether the client missed more than a replay may carry
+        int limit = settings.getBufferSize();
+        String recipientId = NotificationDestinations.recipientOf(destination);
+        Optional<List<NotificationDto>> stored = notificationService.getNotificationsAfter(recipientId, lastSeenId, limit + 1);
+        if (stored.isEmpty()) {
+            unavailableCounter.increment();
+            sendSummary(subscribe, 0, "Notifications since your last visit could not be replayed");
+            return;
+        }
+        databaseCounter.increment();
+        if (stored.get().size() > limit) {
+            sendSummary(subscribe, stored.get().size(), "More than " + limit + " new notifications");
+            return;
+        }
+        List<byte[]> payloads = new ArrayList<>(stored.get().size());
+        for (NotificationDto notification : stored.get()) {
+            payloads.add(objectMapper.writeValueAsBytes(notification));
+        }
+        payloads.forEach(payload -> send(subscribe, payload, REPLAY_HEADER));
+    }
+
+    private void sendSummary(SimpMessageHeaderAccessor subscribe, int missed, String text)
+            throws JsonProcessingException {
+        send(subscribe, objectMapper.writeValueAsBytes(new NotificationSummary(missed, text)),
+                SlowConsumerInterceptor.SUMMARY_HEADER);
+    }
+
+    private void send(SimpMessageHeaderAccessor subscribe, byte[] payload, String marker) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscribe.getSessionId());
+        accessor.setSubscriptionId(subscribe.getSubscriptionId());
+        accessor.setDestination(subscribe.getDestination());
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setNativeHeader(marker, "true");
+        accessor.setLeaveMutable(true);
+        clientOutboundChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+    }
+
+    private static Counter replayCounter(String source, MeterRegistry meterRegistry) {
+        return Counter.builder("notification.websocket.replays")
+                .description("Subscriptions that asked for missed notifications, by where they were served from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.proxyapi.notificationservice.dto.NotificationDto;
+
+/**
+ * A notification together with its JSON form, serialized ahead of the push. Fan-outs send {@code json} as is
+ * rather than converting {@code notification} again.
+ */
+public record SerializedNotification(NotificationDto notification, byte[] json) {
+}
@@ -0,0 +1,104 @@
+package com.proxyapi.notificationservice.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Outbound channel executor that writes each WebSocket session's frames in publish order, one at a time,
+ * on a shared pool of workers.
+ * <p>
+ * Every session with frames waiting has its own queue, drained by at most one worker at a time. A session
+ * whose socket stalls only holds the worker draining it; other sessions are drained by the remaining
+ * workers, and the {@link SlowConsumerInterceptor} closes the stalled session once it exceeds the transport
+ * limits. Tasks that carry no session go straight to the workers.
+ */
+@Slf4j
+public class SessionOrderedExecutor implements TaskExecutor {
+
+    private final Executor workers;
+    private final int sessionQueueCapacity;
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+
+    public SessionOrderedExecutor(Executor workers, int sessionQueueCapacity) {
+        this.workers = workers;
+        this.sessionQueueCapacity = sessionQueueCapacity;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        String sessionId = sessionIdOf(task);
+        if (sessionId == null) {
+            workers.execute(task);
+            return;
+        }
+        boolean[] idle = new boolean[1];
+        // Queued and counted under the session's map lock, which the drain also takes to count down
+        SessionQueue queue = queues.compute(sessionId, (id, current) -> {
+            SessionQueue target = current != null ? current : new SessionQueue();
+            if (target.pending >= sessionQueueCapacity) {
+                throw new RejectedExecutionException(
+                        "Outbound queue of session " + id + " is full (" + sessionQueueCapacity + " frames)");
+            }
+            target.tasks.add(task);
+            idle[0] = target.pending++ == 0;
+            return target;
+        });
+        if (idle[0]) {
+            workers.execute(() -> drain(sessionId, queue));
+        }
+    }
+
+    /**
+     * Frames waiting to be written across all sessions.
+     */
+    public int getQueuedTaskCount() {
+        return queues.values().stream().mapToInt(queue -> queue.tasks.size()).sum();
+    }
+
+    public int getSessionCount() {
+        return queues.size();
+    }
+
+    public void shutdown() {
+        if (workers instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void drain(String sessionId, SessionQueue queue) {
+        Runnable task = queue.tasks.poll();
+        while (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Outbound task for session {} failed", sessionId, e);
+            }
+            // The queue is dropped once empty; a frame counted after this was queued before its count
+            SessionQueue remaining = queues.computeIfPresent(sessionId, (id, current) ->
+                    --current.pending == 0 ? null : current);
+            task = remaining != null ? queue.tasks.poll() : null;
+        }
+    }
+
+    private static String sessionIdOf(Runnable task) {
+        return task instanceof MessageHandlingRunnable runnable
+                ? SimpMessageHeaderAccessor.getSessionId(runnable.getMessage().getHeaders())
+                : null;
+    }
+
+    private static final class SessionQueue {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        // Guarded by the per-session lock of the queue map
+        private int pending;
+    }
+}
@@ -0,0 +1,275 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how many frames are queued for each WebSocket session on the outbound channel and applies the
+ * configured slow-consumer policy.
+ * <p>
+ * With {@code COALESCE}, notification frames for a session whose backlog exceeds the high watermark are
+ * suppressed; once the backlog drains below the low watermark the session receives a single
+ * {@link NotificationSummary} frame instead. With {@code TERMINATE}, a session is closed once its current
+ * frame has been writing for longer than {@code notification.websocket.transport.send-time-limit} or its
+ * queued frames exceed {@code send-buffer-size-limit} bytes. Each session is written by one thread at a time,
+ * so Spring's own send limits, which only apply to a second concurrent sender, never trigger; they are
+ * enforced here instead, on sends and on a periodic check of sessions that receive nothing new.
+ */
+@Slf4j
+@Component
+public class SlowConsumerInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String SUMMARY_HEADER = "x-notification-summary";
+
+    private final NotificationProperties.WebSocket.SlowConsumer settings;
+    private final NotificationProperties.WebSocket.Transport transport;
+    private final ObjectMapper objectMapper;
+    private final WebSocketSessionTracker sessionTracker;
+    private final Map<String, SessionBacklog> backlogs = new ConcurrentHashMap<>();
+    private final Counter suppressedCounter;
+    private final Counter summaryCounter;
+    private final Counter terminatedCounter;
+
+    public SlowConsumerInterceptor(NotificationProperties properties, ObjectMapper objectMapper,
+                                   WebSocketSessionTracker sessionTracker, MeterRegistry meterRegistry) {
+        this.settings = properties.getWebsocket().getSlowConsumer();
+        this.transport = properties.getWebsocket().getTransport();
+        this.objectMapper = objectMapper;
+        this.sessionTracker = sessionTracker;
+        this.suppressedCounter = Counter.builder("notification.websocket.outbound.suppressed")
+                .description("Notification frames coalesced away for slow sessions")
+                .register(meterRegistry);
+        this.summaryCounter = Counter.builder("notification.websocket.outbound.summaries")
+                .description("Summary frames sent to sessions that fell behind")
+                .register(meterRegistry);
+        this.terminatedCounter = Counter.builder("notification.websocket.outbound.terminated")
+                .description("Sessions closed for exceeding the send-time or send-buffer limit")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.outbound.pending", backlogs,
+                        map -> map.values().stream().mapToInt(backlog -> backlog.pending.get()).sum())
+                .description("Frames queued for delivery across all sessions")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.outbound.pending.max", backlogs,
+                        map -> map.values().stream().mapToInt(backlog -> backlog.pending.get()).max().orElse(0))
+                .description("Largest per-session outbound queue depth")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        String sessionId = accessor.getSessionId();
+        if (sessionId == null) {
+            return message;
+        }
+        if (accessor.getMessageType() == SimpMessageType.DISCONNECT_ACK) {
+            // Sent after SessionDisconnectEvent, so it must not bring the session's backlog back
+            backlogs.remove(sessionId);
+            return message;
+        }
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        SessionBacklog backlog = backlogs.computeIfAbsent(sessionId, id -> new SessionBacklog());
+        if (settings.getPolicy() == Policy.TERMINATE) {
+            if (exceedsLimits(backlog, payloadSize(message), System.nanoTime())) {
+                terminate(sessionId);
+                return null;
+            }
+        } else if (settings.getPolicy() == Policy.COALESCE
+                && backlog.pending.get() >= settings.getHighWatermark()
+                && isNotification(accessor)) {
+            backlog.suppressed.incrementAndGet();
+            backlog.summaryTemplate = message;
+            suppressedCounter.increment();
+            return null;
+        }
+        backlog.pending.incrementAndGet();
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent) {
+            // Never reached the executor, so afterMessageHandled will not run for it
+            release(message, channel, 0);
+        } else if (settings.getPolicy() == Policy.TERMINATE) {
+            // Counted from the frame as queued, after later interceptors may have re-encoded it
+            SessionBacklog backlog = trackedBacklog(message);
+            if (backlog != null) {
+                backlog.pendingBytes.addAndGet(payloadSize(message));
+            }
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        SessionBacklog backlog = trackedBacklog(message);
+        if (backlog != null) {
+            backlog.sendingSince = System.nanoTime();
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        SessionBacklog backlog = trackedBacklog(message);
+        if (backlog != null) {
+            backlog.sendingSince = 0;
+        }
+        release(message, channel, payloadSize(message));
+    }
+
+    /**
+     * Closes sessions stuck on one write that receive no further frames to trigger the check on send.
+     */
+    @Scheduled(fixedDelayString = "${notification.websocket.transport.send-time-limit}")
+    public void terminateStalled() {
+        if (settings.getPolicy() != Policy.TERMINATE) {
+            return;
+        }
+        long now = System.nanoTime();
+        backlogs.forEach((sessionId, backlog) -> {
+            if (exceedsLimits(backlog, 0, now)) {
+                terminate(sessionId);
+            }
+        });
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        backlogs.remove(event.getSessionId());
+    }
+
+    /**
+     * Sessions with the deepest outbound backlog, for the {@code websocketsessions} actuator endpoint.
+     */
+    public List<SessionStats> topSessions(int limit) {
+        return backlogs.entrySet().stream()
+                .map(entry -> new SessionStats(entry.getKey(),
+                        entry.getValue().pending.get(), entry.getValue().suppressed.get()))
+                .sorted(Comparator.comparingInt(SessionStats::pending).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public int getSessionCount() {
+        return backlogs.size();
+    }
+
+    private void release(Message<?> message, MessageChannel channel, int queuedBytes) {
+        SessionBacklog backlog = trackedBacklog(message);
+        if (backlog == null) {
+            return;
+        }
+        if (settings.getPolicy() == Policy.TERMINATE) {
+            backlog.pendingBytes.addAndGet(-queuedBytes);
+        }
+        int pending = backlog.pending.decrementAndGet();
+        if (pending <= settings.getLowWatermark() && backlog.suppressed.get() > 0) {
+            int missed = backlog.suppressed.getAndSet(0);
+            Message<?> template = backlog.summaryTemplate;
+            if (missed > 0 && template != null) {
+                sendSummary(channel, template, missed);
+            }
+        }
+    }
+
+    private void sendSummary(MessageChannel channel, Message<?> template, int missed) {
+        try {
+            SimpMessageHeaderAccessor source = SimpMessageHeaderAccessor.wrap(template);
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setSessionId(source.getSessionId());
+            accessor.setSubscriptionId(source.getSubscriptionId());
+            accessor.setDestination(source.getDestination());
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setNativeHeader(SUMMARY_HEADER, "true");
+            accessor.setLeaveMutable(true);
+
+            byte[] payload = objectMapper.writeValueAsBytes(
+                    new NotificationSummary(missed, "You have " + missed + " new notifications"));
+            channel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+            summaryCounter.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to send summary frame to session {}", SimpMessageHeaderAccessor
+                    .getSessionId(template.getHeaders()), e);
+        }
+    }
+
+    private SessionBacklog trackedBacklog(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? backlogs.get(sessionId) : null;
+    }
+
+    private boolean exceedsLimits(SessionBacklog backlog, int size, long now) {
+        long sendingSince = backlog.sendingSince;
+        return (sendingSince != 0 && now - sendingSince > transport.getSendTimeLimit().toNanos())
+                || (backlog.pending.get() > 0
+                        && backlog.pendingBytes.get() + size > transport.getSendBufferSizeLimit());
+    }
+
+    private void terminate(String sessionId) {
+        // Dropped first, so frames still queued for the session are not checked again
+        if (backlogs.remove(sessionId) != null) {
+            sessionTracker.close(sessionId, CloseStatus.SESSION_NOT_RELIABLE);
+            terminatedCounter.increment();
+            log.info("Closed WebSocket session {} for exceeding the outbound send limits", sessionId);
+        }
+    }
+
+    private static int payloadSize(Message<?> message) {
+        return message.getPayload() instanceof byte[] payload ? payload.length : 0;
+    }
+
+    private static boolean isNotification(SimpMessageHeaderAccessor accessor) {
+        return NotificationDestinations.isInbox(accessor.getDestination())
+                && accessor.getFirstNativeHeader(SUMMARY_HEADER) == null;
+    }
+
+    public enum Policy {
+        COALESCE, TERMINATE
+    }
+
+    public record SessionStats(String sessionId, int pending, int suppressed) {
+    }
+
+    private static final class SessionBacklog {
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private volatile Message<?> summaryTemplate;
+        // When the frame being written started, 0 while none is
+        private volatile long sendingSince;
+    }
+}
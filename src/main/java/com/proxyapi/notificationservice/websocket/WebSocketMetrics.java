@@ -0,0 +1,81 @@
+package com.proxyapi.notificationservice.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Connected sessions, subscriptions and outbound frame counts for this node.
+ * <p>
+ * Installed on the client outbound channel after the {@link SlowConsumerInterceptor}, so frames it coalesces
+ * away are not counted as sent. A frame counts as failed when the outbound executor rejects it or its
+ * handler throws.
+ */
+public class WebSocketMetrics implements ExecutorChannelInterceptor {
+
+    private final Set<String> connectedSessions = ConcurrentHashMap.newKeySet();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public WebSocketMetrics(DestinationIndexedSubscriptionRegistry subscriptionRegistry, MeterRegistry meterRegistry) {
+        this.sentCounter = Counter.builder("notification.websocket.outbound.sent")
+                .description("Frames written to WebSocket sessions")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.websocket.outbound.failed")
+                .description("Frames that could not be written to WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.sessions", connectedSessions, Set::size)
+                .description("STOMP sessions connected to this node")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.subscriptions", subscriptionRegistry,
+                        DestinationIndexedSubscriptionRegistry::getSubscriptionCount)
+                .description("Broker subscriptions held by this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            failedCounter.increment();
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        if (ex == null) {
+            sentCounter.increment();
+        } else {
+            failedCounter.increment();
+        }
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            connectedSessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        // Disconnect can be published more than once per session; the set makes that harmless
+        connectedSessions.remove(event.getSessionId());
+    }
+
+    public int getConnectedSessionCount() {
+        return connectedSessions.size();
+    }
+}
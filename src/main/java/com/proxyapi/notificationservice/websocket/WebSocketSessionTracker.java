@@ -0,0 +1,69 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the open WebSocket sessions by id, which is also their STOMP session id, so components outside the
+ * handler chain can close them.
+ */
+@Slf4j
+@Component
+public class WebSocketSessionTracker implements WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor closeExecutor = new SimpleAsyncTaskExecutor("ws-close-");
+
+    public WebSocketSessionTracker(NotificationProperties properties) {
+        closeExecutor.setVirtualThreads(properties.getThreads().isVirtual());
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Closes the session on its own thread: closing sends a close frame, which may block as long as the
+     * stalled write it is meant to end.
+     *
+     * @return whether the session was open on this node
+     */
+    public boolean close(String sessionId, CloseStatus status) {
+        WebSocketSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        closeExecutor.execute(() -> {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("Failed to close session {}: {}", sessionId, e.getMessage());
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.proxyapi.notificationservice.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/websocketsessions}: outbound queue depth per WebSocket session, deepest first.
+ */
+@Component
+@Endpoint(id = "websocketsessions")
+@RequiredArgsConstructor
+public class WebSocketSessionsEndpoint {
+
+    private final SlowConsumerInterceptor slowConsumerInterceptor;
+
+    @ReadOperation
+    public Map<String, Object> sessions(@Nullable Integer limit) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("sessions", slowConsumerInterceptor.getSessionCount());
+        body.put("top", slowConsumerInterceptor.topSessions(limit != null ? limit : 20));
+        return body;
+    }
+}
@@ -0,0 +1,164 @@
+-- Compares the wide notifications layout (enum names as VARCHAR, title and message on every row) with the
+-- normalized one (SMALLINT codes, repeated text in shared templates) on a generated 10M-row dataset.
+--
+-- Run against a scratch database, not production; it needs about 10 GB of free disk and a few minutes:
+--   psql -d scratch -v rows=10000000 -f compare-storage.sql
+-- Everything is created in the storage_bench schema, which is dropped again at the start of each run.
+--
+-- Dataset: 20,000 recipients with 500 notifications each; 70% of rows carry one of 1,000 broadcast texts,
+-- the rest a text of their own. 20% are unread, 60% read, 20% archived. Both tables get the indexes the
+-- application declares for their layout and are vacuumed, so index-only scans can skip the heap.
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 10000000
+\endif
+
+DROP SCHEMA IF EXISTS storage_bench CASCADE;
+CREATE SCHEMA storage_bench;
+SET search_path = storage_bench;
+
+CREATE FUNCTION content_hash(title TEXT, message TEXT) RETURNS VARCHAR(64) AS $$
+    SELECT encode(sha256(convert_to(octet_length(convert_to(title, 'UTF8')) || ':' || title || message, 'UTF8')),
+                  'hex');
+$$ LANGUAGE sql IMMUTABLE STRICT;
+
+-- Wide layout, as before normalize-notifications.sql
+CREATE TABLE wide (
+    id           BIGINT PRIMARY KEY,
+    title        VARCHAR(255),
+    message      TEXT,
+    recipient_id VARCHAR(255) NOT NULL,
+    status       VARCHAR(255) NOT NULL,
+    type         VARCHAR(255) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    dedup_key    VARCHAR(128)
+);
+
+INSERT INTO wide
+SELECT i,
+       CASE WHEN i % 10 < 7 THEN 'Maintenance window ' || i % 1000
+            ELSE 'Order ' || i || ' shipped' END,
+       CASE WHEN i % 10 < 7
+                THEN 'The service is read-only during maintenance window ' || i % 1000 || '. '
+                         || repeat('We apologise for the inconvenience. ', 4)
+            ELSE 'Your order ' || i || ' is on its way and arrives within ' || i % 5 + 1 || ' days.' END,
+       'user-' || i % 20000,
+       CASE WHEN i % 5 = 0 THEN 'UNREAD' WHEN i % 5 < 4 THEN 'READ' ELSE 'ARCHIVED' END,
+       (ARRAY ['INFO', 'WARNING', 'ERROR', 'SUCCESS'])[1 + i % 4],
+       TIMESTAMP '2024-01-01' + i * INTERVAL '1 second',
+       NULL,
+       NULL
+FROM generate_series(1, :rows) i;
+
+CREATE INDEX wide_recipient_created ON wide (recipient_id, created_at DESC, id DESC);
+CREATE INDEX wide_status_created ON wide (status, created_at);
+
+-- Normalized layout, filled the way step 4 of normalize-notifications.sql folds repeated text
+CREATE TABLE templates (
+    id           BIGINT PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    message      TEXT         NOT NULL,
+    content_hash VARCHAR(64)  NOT NULL UNIQUE,
+    created_at   TIMESTAMP(6),
+    last_used_at TIMESTAMP(6)
+);
+
+INSERT INTO templates
+SELECT row_number() OVER (), title, message, content_hash(title, message), now(), now()
+FROM wide
+GROUP BY title, message
+HAVING COUNT(*) > 1;
+
+CREATE TABLE normalized (
+    id           BIGINT PRIMARY KEY,
+    title        VARCHAR(255),
+    message      TEXT,
+    recipient_id VARCHAR(255) NOT NULL,
+    status       SMALLINT     NOT NULL,
+    type         SMALLINT     NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    dedup_key    VARCHAR(128),
+    template_id  BIGINT REFERENCES templates (id)
+);
+
+INSERT INTO normalized
+SELECT w.id,
+       CASE WHEN t.id IS NULL THEN w.title END,
+       CASE WHEN t.id IS NULL THEN w.message END,
+       w.recipient_id,
+       CASE w.status WHEN 'UNREAD' THEN 0 WHEN 'READ' THEN 1 ELSE 2 END,
+       CASE w.type WHEN 'INFO' THEN 0 WHEN 'WARNING' THEN 1 WHEN 'ERROR' THEN 2 ELSE 3 END,
+       w.created_at,
+       w.updated_at,
+       w.dedup_key,
+       t.id
+FROM wide w
+LEFT JOIN templates t ON t.title = w.title AND t.message = w.message;
+
+CREATE INDEX normalized_recipient_created ON normalized (recipient_id, created_at DESC, id DESC);
+CREATE INDEX normalized_recipient_status ON normalized (recipient_id, status);
+CREATE INDEX normalized_status_created ON normalized (status, created_at);
+CREATE INDEX normalized_template ON normalized (template_id);
+
+VACUUM ANALYZE wide;
+VACUUM ANALYZE templates;
+VACUUM ANALYZE normalized;
+
+-- Storage: heap (including TOAST) and indexes per table
+SELECT c.relname                                     AS "table",
+       pg_size_pretty(pg_table_size(c.oid))          AS heap,
+       pg_size_pretty(pg_indexes_size(c.oid))        AS indexes,
+       pg_size_pretty(pg_total_relation_size(c.oid)) AS total
+FROM pg_class c
+WHERE c.relnamespace = 'storage_bench'::regnamespace
+  AND c.relkind = 'r'
+ORDER BY c.relname;
+
+SELECT i.relname                                  AS "index",
+       pg_size_pretty(pg_relation_size(i.oid))    AS size
+FROM pg_index x
+JOIN pg_class i ON i.oid = x.indexrelid
+WHERE i.relnamespace = 'storage_bench'::regnamespace
+ORDER BY i.relname;
+
+-- Latency: each query runs once to warm the cache, then under EXPLAIN ANALYZE. Compare "Execution Time",
+-- "Heap Fetches" and shared buffers hit/read between the two layouts.
+
+-- Unread count (UnreadCountCache miss): wide scans the recipient's rows in the heap, normalized is index-only
+SELECT COUNT(*) FROM wide WHERE recipient_id = 'user-4242' AND status = 'UNREAD';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM wide WHERE recipient_id = 'user-4242' AND status = 'UNREAD';
+
+SELECT COUNT(*) FROM normalized WHERE recipient_id = 'user-4242' AND status = 0;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM normalized WHERE recipient_id = 'user-4242' AND status = 0;
+
+-- Offset page 20 of the v2 listing: wide reads 400 skipped rows from the heap, normalized locates the page
+-- in the index and then loads 20 rows and their templates by id
+SELECT * FROM wide WHERE recipient_id = 'user-4242'
+ORDER BY created_at DESC, id DESC OFFSET 400 LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM wide WHERE recipient_id = 'user-4242'
+ORDER BY created_at DESC, id DESC OFFSET 400 LIMIT 20;
+
+SELECT n.*, t.title AS shared_title, t.message AS shared_message
+FROM (SELECT id FROM normalized WHERE recipient_id = 'user-4242'
+      ORDER BY created_at DESC, id DESC OFFSET 400 LIMIT 20) page
+JOIN normalized n ON n.id = page.id
+LEFT JOIN templates t ON t.id = n.template_id;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT n.*, t.title AS shared_title, t.message AS shared_message
+FROM (SELECT id FROM normalized WHERE recipient_id = 'user-4242'
+      ORDER BY created_at DESC, id DESC OFFSET 400 LIMIT 20) page
+JOIN normalized n ON n.id = page.id
+LEFT JOIN templates t ON t.id = n.template_id;
+
+-- Page count of the same listing
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM wide WHERE recipient_id = 'user-4242';
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM normalized WHERE recipient_id = 'user-4242';
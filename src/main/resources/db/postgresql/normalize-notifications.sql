@@ -0,0 +1,122 @@
+-- Moves an existing database to the normalized storage layout (PostgreSQL 11+):
+--   1. notifications.status and notifications.type become SMALLINT codes instead of enum names
+--      (see Notification.NotificationStatus and Notification.NotificationType for the codes), and title and
+--      message become nullable for rows that share a template's text
+--   2. notification_templates become content-addressed: each distinct title and message is stored once,
+--      keyed by content_hash; broadcast dedup keys move from the template to the recipient rows
+--   3. idx_notifications_recipient_status answers unread counts from the index alone
+--   4. optionally, title and message pairs stored inline more than once are moved into shared templates
+--
+-- Steps 1-3 run on every startup against PostgreSQL (see SchemaUpgradeConfig), before Hibernate updates the
+-- schema, and only change what is still in the old layout, so they are a no-op on new or upgraded databases.
+-- Converting the columns rewrites the table and its indexes under an exclusive lock; on a large table run
+-- this script by hand with the application stopped instead of letting the first node do it on startup.
+-- Works on the partitioned table created by partition-notifications.sql as well.
+
+-- Must match NotificationTemplate.contentHash: SHA-256 of "<UTF-8 length of title>:<title><message>"
+CREATE OR REPLACE FUNCTION notification_content_hash(title TEXT, message TEXT) RETURNS VARCHAR(64) AS $fn$
+    SELECT encode(sha256(convert_to(octet_length(convert_to(title, 'UTF8')) || ':' || title || message, 'UTF8')),
+                  'hex');
+$fn$ LANGUAGE sql IMMUTABLE STRICT;
+
+DO $upgrade$
+BEGIN
+    IF to_regclass('notifications') IS NULL THEN
+        -- New database: Hibernate creates the current layout
+        RETURN;
+    END IF;
+
+    -- Nodes starting together upgrade one at a time; the others then find nothing left to change
+    PERFORM pg_advisory_xact_lock(hashtext('normalize-notifications'));
+
+    -- 1. Enum codes. Hibernate may have created CHECK constraints listing the enum names.
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'notifications'
+                 AND column_name = 'status' AND data_type <> 'smallint') THEN
+        ALTER TABLE notifications
+            DROP CONSTRAINT IF EXISTS notifications_status_check,
+            DROP CONSTRAINT IF EXISTS notifications_type_check;
+        ALTER TABLE notifications
+            ALTER COLUMN status TYPE SMALLINT USING CASE status
+                WHEN 'UNREAD' THEN 0 WHEN 'READ' THEN 1 WHEN 'ARCHIVED' THEN 2 END,
+            ALTER COLUMN type TYPE SMALLINT USING CASE type
+                WHEN 'INFO' THEN 0 WHEN 'WARNING' THEN 1 WHEN 'ERROR' THEN 2 WHEN 'SUCCESS' THEN 3 END;
+    END IF;
+
+    ALTER TABLE notifications
+        ALTER COLUMN title DROP NOT NULL,
+        ALTER COLUMN message DROP NOT NULL;
+
+    -- 2. Content-addressed templates. A retried broadcast now looks for its key on the recipient rows.
+    IF to_regclass('notification_templates') IS NOT NULL
+            AND NOT EXISTS (SELECT 1 FROM information_schema.columns
+                            WHERE table_schema = current_schema() AND table_name = 'notification_templates'
+                              AND column_name = 'content_hash') THEN
+        UPDATE notifications n
+        SET dedup_key = t.dedup_key
+        FROM notification_templates t
+        WHERE n.template_id = t.id
+          AND t.dedup_key IS NOT NULL
+          AND n.dedup_key IS NULL;
+
+        ALTER TABLE notification_templates
+            ADD COLUMN content_hash VARCHAR(64),
+            ADD COLUMN IF NOT EXISTS last_used_at TIMESTAMP(6);
+        UPDATE notification_templates
+        SET content_hash = notification_content_hash(title, message),
+            last_used_at = COALESCE(created_at, now());
+
+        -- Templates of earlier broadcasts with the same text are merged into the oldest one
+        CREATE TEMPORARY TABLE template_merge ON COMMIT DROP AS
+        SELECT id,
+               MIN(id) OVER (PARTITION BY content_hash)           AS keep_id,
+               MAX(last_used_at) OVER (PARTITION BY content_hash) AS last_used_at
+        FROM notification_templates;
+        UPDATE notifications n
+        SET template_id = m.keep_id
+        FROM template_merge m
+        WHERE n.template_id = m.id
+          AND m.id <> m.keep_id;
+        DELETE FROM notification_templates t
+        USING template_merge m
+        WHERE t.id = m.id
+          AND m.id <> m.keep_id;
+        UPDATE notification_templates t
+        SET last_used_at = m.last_used_at
+        FROM template_merge m
+        WHERE t.id = m.id;
+
+        ALTER TABLE notification_templates
+            DROP CONSTRAINT IF EXISTS uk_notification_templates_dedup,
+            DROP COLUMN IF EXISTS dedup_key,
+            DROP COLUMN IF EXISTS type,
+            ALTER COLUMN content_hash SET NOT NULL,
+            ADD CONSTRAINT uk_notification_templates_hash UNIQUE (content_hash);
+    END IF;
+
+    -- 3. Index-only unread counts
+    CREATE INDEX IF NOT EXISTS idx_notifications_recipient_status
+        ON notifications (recipient_id, status);
+END
+$upgrade$;
+
+-- 4. Optional, and safe to run with the application up: moves every title and message stored inline more
+-- than once into a shared template. On a large table run the UPDATE in id ranges (add
+-- "AND n.id BETWEEN ... AND ...") so each transaction stays short, then reclaim the space with
+-- VACUUM FULL or pg_repack during a quiet period.
+--
+-- INSERT INTO notification_templates (id, title, message, content_hash, created_at, last_used_at)
+-- SELECT nextval('notification_templates_seq'), title, message, notification_content_hash(title, message),
+--        now(), now()
+-- FROM notifications
+-- WHERE template_id IS NULL AND title IS NOT NULL AND message IS NOT NULL
+-- GROUP BY title, message
+-- HAVING COUNT(*) > 1
+-- ON CONFLICT (content_hash) DO UPDATE SET last_used_at = EXCLUDED.last_used_at;
+--
+-- UPDATE notifications n
+-- SET template_id = t.id, title = NULL, message = NULL
+-- FROM notification_templates t
+-- WHERE n.template_id IS NULL
+--   AND n.title IS NOT NULL AND n.message IS NOT NULL
+--   AND t.content_hash = notification_content_hash(n.title, n.message);
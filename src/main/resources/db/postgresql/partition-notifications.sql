@@ -0,0 +1,92 @@
+-- Converts the notifications table into monthly range partitions on created_at (PostgreSQL 13+).
+--
+-- Expects the normalized layout; run normalize-notifications.sql first on older databases.
+--
+-- Run once during a maintenance window, with the application stopped and
+-- spring.jpa.hibernate.ddl-auto set to none or validate afterwards, since Hibernate
+-- cannot create the entity's unique constraint on a partitioned table.
+--
+-- Afterwards, old data is removed by dropping whole partitions instead of row-by-row deletes:
+--   ALTER TABLE notifications DETACH PARTITION notifications_2024_01;
+--   DROP TABLE notifications_2024_01;
+-- The retention job keeps archiving as before; its chunked deletes then only find rows
+-- in partitions that have not been dropped yet.
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER INDEX IF EXISTS idx_notifications_recipient_created RENAME TO idx_notifications_unpartitioned_recipient_created;
+ALTER INDEX IF EXISTS idx_notifications_recipient_status RENAME TO idx_notifications_unpartitioned_recipient_status;
+ALTER INDEX IF EXISTS idx_notifications_status_created RENAME TO idx_notifications_unpartitioned_status_created;
+ALTER INDEX IF EXISTS idx_notifications_template RENAME TO idx_notifications_unpartitioned_template;
+ALTER TABLE notifications_unpartitioned
+    DROP CONSTRAINT IF EXISTS uk_notifications_recipient_dedup;
+
+-- The partition key must be part of the primary key; ids stay unique through notifications_seq
+CREATE TABLE notifications (
+    id           BIGINT       NOT NULL,
+    title        VARCHAR(255),
+    message      TEXT,
+    recipient_id VARCHAR(255) NOT NULL,
+    status       SMALLINT     NOT NULL,
+    type         SMALLINT     NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    dedup_key    VARCHAR(128),
+    template_id  BIGINT REFERENCES notification_templates (id),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_notifications_recipient_created
+    ON notifications (recipient_id, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_recipient_status
+    ON notifications (recipient_id, status);
+CREATE INDEX idx_notifications_status_created
+    ON notifications (status, created_at);
+CREATE INDEX idx_notifications_template
+    ON notifications (template_id);
+
+-- Creates the partition holding the month of month_start, with the per-partition dedup index.
+-- A unique index spanning all partitions is not possible, so a dedupKey is only enforced within
+-- one month; retries across a month boundary are still answered by the application's lookup.
+CREATE OR REPLACE FUNCTION create_notifications_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::DATE;
+    partition TEXT := 'notifications_' || to_char(from_date, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                   partition, from_date, (from_date + INTERVAL '1 month')::DATE);
+    EXECUTE format('CREATE UNIQUE INDEX IF NOT EXISTS %I ON %I (recipient_id, dedup_key)',
+                   partition || '_dedup', partition);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for the existing data and the next three months
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(
+                       date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_unpartitioned), now())),
+                       date_trunc('month', now()) + INTERVAL '3 months',
+                       INTERVAL '1 month')::DATE
+    LOOP
+        PERFORM create_notifications_partition(month);
+    END LOOP;
+END;
+$$;
+
+-- Rows without a creation time cannot be routed to a partition
+INSERT INTO notifications (id, title, message, recipient_id, status, type, created_at, updated_at, dedup_key,
+                           template_id)
+SELECT id, title, message, recipient_id, status, type, COALESCE(created_at, now()), updated_at, dedup_key,
+       template_id
+FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+COMMIT;
+
+-- Schedule monthly (pg_cron, cron + psql, ...) so inserts always have a partition to land in:
+--   SELECT create_notifications_partition((now() + INTERVAL '3 months')::DATE);
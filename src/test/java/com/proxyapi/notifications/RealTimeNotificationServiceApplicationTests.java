@@ -1,9 +1,10 @@
 package com.proxyapi.notifications;
 
+import com.proxyapi.notificationservice.NotificationServiceApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(classes = NotificationServiceApplication.class)
 class RealTimeNotificationServiceApplicationTests {
 
     @Test
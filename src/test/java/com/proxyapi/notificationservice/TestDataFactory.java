@@ -4,7 +4,10 @@ import com.proxyapi.notificationservice.dto.NotificationDto;
 import com.proxyapi.notificationservice.model.Notification;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class TestDataFactory {
 
@@ -16,7 +19,6 @@ public class TestDataFactory {
     
     public static Notification createNotification() {
         return Notification.builder()
-                .id(1L)
                 .title(TEST_TITLE)
                 .message(TEST_MESSAGE)
                 .recipientId(TEST_USER_ID)
@@ -36,6 +38,17 @@ public class TestDataFactory {
                 .build();
     }
     
+    public static List<NotificationDto> createNotificationDtos(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> NotificationDto.builder()
+                        .title(TEST_TITLE + " " + i)
+                        .message(TEST_MESSAGE)
+                        .recipientId(TEST_USER_ID)
+                        .type(TEST_TYPE)
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
     public static String asJsonString(final Object obj) {
         try {
             return new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(obj);
@@ -0,0 +1,85 @@
+package com.proxyapi.notificationservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermitLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private PermitLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new PermitLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_WhenPermitsExhausted_ShouldFailAfterTimeout() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReturnPermitOnce() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        Connection checkedOut = dataSource.getConnection();
+
+        // Act
+        checkedOut.close();
+        checkedOut.close();
+
+        // Assert
+        verify(connection, times(2)).close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ShouldReturnPermit() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool closed"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void close_ShouldClosePool() throws Exception {
+        // Arrange
+        HikariDataSource pool = mock(HikariDataSource.class);
+        PermitLimitedDataSource limited = new PermitLimitedDataSource(pool, 2, Duration.ofMillis(50));
+
+        // Act
+        limited.close();
+
+        // Assert
+        verify(pool).close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.proxyapi.notificationservice.config;
+
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import com.proxyapi.notificationservice.websocket.SessionOrderedExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WebSocketConfigTest {
+
+    @Autowired
+    @Qualifier("simpleBrokerMessageHandler")
+    private SimpleBrokerMessageHandler brokerMessageHandler;
+
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @Autowired
+    private DestinationIndexedSubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private SessionOrderedExecutor outboundExecutor;
+
+    @Test
+    void simpleBroker_ShouldUseDestinationIndexedRegistry() {
+        assertSame(subscriptionRegistry, brokerMessageHandler.getSubscriptionRegistry());
+    }
+
+    @Test
+    void clientOutboundChannel_ShouldUseSessionOrderedExecutor() {
+        assertSame(outboundExecutor, clientOutboundChannel.getExecutor());
+    }
+}
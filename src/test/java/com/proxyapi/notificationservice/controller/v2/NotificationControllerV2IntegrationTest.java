@@ -2,9 +2,16 @@ package com.proxyapi.notificationservice.controller.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.dto.BroadcastRequest;
+import com.proxyapi.notificationservice.dto.BulkNotificationRequest;
 import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSlice;
+import com.proxyapi.notificationservice.model.GroupMember;
 import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.GroupMemberRepository;
 import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.NotificationTemplateRepository;
+import com.proxyapi.notificationservice.service.UnreadCountCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,11 +24,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -46,6 +59,15 @@ class NotificationControllerV2IntegrationTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationTemplateRepository templateRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private UnreadCountCache unreadCountCache;
+
     private Notification testNotification;
     private NotificationDto testNotificationDto;
 
@@ -56,6 +78,7 @@ class NotificationControllerV2IntegrationTest {
         
         // Clear any existing test data
         notificationRepository.deleteAll();
+        unreadCountCache.invalidateAll();
     }
 
     @Test
@@ -70,6 +93,42 @@ class NotificationControllerV2IntegrationTest {
                 .andExpect(jsonPath("$.recipientId").value(testNotificationDto.getRecipientId()));
     }
 
+    @Test
+    void createNotification_WithRepeatedIdempotencyKey_ShouldReturnOriginal() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(testNotificationDto);
+        MvcResult first = mockMvc.perform(post("/api/v2/notifications")
+                .header("Idempotency-Key", "order-42-shipped")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long id = objectMapper.readValue(first.getResponse().getContentAsString(), NotificationDto.class).getId();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications")
+                .header("Idempotency-Key", "order-42-shipped")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.dedupKey").value("order-42-shipped"));
+        assertEquals(1, notificationRepository.count());
+    }
+
+    @Test
+    void createNotification_WithConflictingIdempotencyKey_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        testNotificationDto.setDedupKey("order-42-shipped");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications")
+                .header("Idempotency-Key", "order-43-shipped")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testNotificationDto)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getNotification_WhenExists_ShouldReturnNotification() throws Exception {
         // Arrange
@@ -132,6 +191,64 @@ class NotificationControllerV2IntegrationTest {
         assertFalse(notificationRepository.existsById(savedNotification.getId()));
     }
 
+    @Test
+    void markAsRead_Bulk_ShouldUpdateOnlyUnreadNotifications() throws Exception {
+        // Arrange
+        Notification first = notificationRepository.save(TestDataFactory.createNotification());
+        Notification second = notificationRepository.save(TestDataFactory.createNotification());
+        Notification untouched = notificationRepository.save(TestDataFactory.createNotification());
+        BulkNotificationRequest request = BulkNotificationRequest.builder()
+                .userId(TestDataFactory.TEST_USER_ID)
+                .ids(List.of(first.getId(), second.getId()))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v2/notifications/read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        assertEquals(Notification.NotificationStatus.READ,
+                notificationRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(Notification.NotificationStatus.UNREAD,
+                notificationRepository.findById(untouched.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void deleteNotifications_Bulk_ShouldDeleteEverythingBeforeTimestamp() throws Exception {
+        // Arrange
+        notificationRepository.save(TestDataFactory.createNotification());
+        notificationRepository.save(TestDataFactory.createNotification());
+        BulkNotificationRequest request = BulkNotificationRequest.builder()
+                .userId(TestDataFactory.TEST_USER_ID)
+                .before(LocalDateTime.now().plusMinutes(1))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v2/notifications")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        assertEquals(0, notificationRepository.count());
+    }
+
+    @Test
+    void markAsRead_Bulk_WithoutSelection_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        BulkNotificationRequest request = BulkNotificationRequest.builder()
+                .userId(TestDataFactory.TEST_USER_ID)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/v2/notifications/read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUnreadCount_ShouldReturnCorrectCount() throws Exception {
         // Arrange
@@ -157,4 +274,200 @@ class NotificationControllerV2IntegrationTest {
                 .andExpect(jsonPath("$.errors").isArray())
                 .andExpect(jsonPath("$.errors", hasSize(greaterThan(0))));
     }
+
+    @Test
+    void getNotification_WithSharedText_ShouldReadTextFromTemplate() throws Exception {
+        // Arrange - a text repeated within a batch is stored once as a template
+        MvcResult created = mockMvc.perform(post("/api/v2/notifications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testNotificationDto, testNotificationDto))))
+                .andExpect(status().isOk())
+                .andReturn();
+        Long id = objectMapper.readValue(created.getResponse().getContentAsString(), NotificationDto[].class)[1].getId();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v2/notifications/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(testNotificationDto.getTitle()))
+                .andExpect(jsonPath("$.message").value(testNotificationDto.getMessage()))
+                .andExpect(jsonPath("$.status").value("UNREAD"));
+        assertEquals(1, templateRepository.count());
+    }
+
+    @Test
+    void createNotifications_ShouldPersistWholeBatch() throws Exception {
+        // Arrange
+        var batch = TestDataFactory.createNotificationDtos(1200);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1200)))
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[1199].title").value(batch.get(1199).getTitle()));
+
+        assertEquals(1200, notificationRepository.countByRecipientIdAndStatus(
+                TestDataFactory.TEST_USER_ID, Notification.NotificationStatus.UNREAD));
+    }
+
+    @Test
+    void broadcast_ToGroup_ShouldStoreTextOnceAndReachEveryMember() throws Exception {
+        // Arrange
+        groupMemberRepository.saveAll(List.of(
+                GroupMember.builder().groupName("ops").recipientId("alice").build(),
+                GroupMember.builder().groupName("ops").recipientId("bob").build(),
+                GroupMember.builder().groupName("sales").recipientId("carol").build()));
+        BroadcastRequest request = BroadcastRequest.builder()
+                .title("Maintenance tonight")
+                .message("The service is read-only from 22:00 to 23:00.")
+                .type(Notification.NotificationType.WARNING)
+                .group("ops")
+                .build();
+
+        // Act
+        mockMvc.perform(post("/api/v2/notifications/broadcast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.templateId").isNumber())
+                .andExpect(jsonPath("$.recipients").value(2));
+
+        // Assert
+        mockMvc.perform(get("/api/v2/notifications").param("userId", "bob"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Maintenance tonight"))
+                .andExpect(jsonPath("$.content[0].message").value(request.getMessage()));
+        assertEquals(0, notificationRepository.countByRecipientIdAndStatus("carol", Notification.NotificationStatus.UNREAD));
+        assertEquals(1, unreadCountCache.get("alice"));
+    }
+
+    @Test
+    void broadcast_WithoutAudience_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        BroadcastRequest request = BroadcastRequest.builder()
+                .title("Maintenance tonight")
+                .message("The service is read-only from 22:00 to 23:00.")
+                .type(Notification.NotificationType.WARNING)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications/broadcast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void broadcast_RetriedWithSameKey_ShouldReuseTextAndNotifyNobodyTwice() throws Exception {
+        // Arrange
+        BroadcastRequest request = BroadcastRequest.builder()
+                .title("Maintenance tonight")
+                .message("The service is read-only from 22:00 to 23:00.")
+                .type(Notification.NotificationType.WARNING)
+                .recipientIds(List.of("alice", "bob"))
+                .dedupKey("maintenance-1")
+                .build();
+        mockMvc.perform(post("/api/v2/notifications/broadcast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipients").value(2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications/broadcast")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipients").value(0));
+        assertEquals(1, notificationRepository.countByRecipientIdAndStatus("bob", Notification.NotificationStatus.UNREAD));
+        assertEquals(1, templateRepository.count());
+    }
+
+    @Test
+    void createNotifications_WithInvalidElement_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        var batch = TestDataFactory.createNotificationDtos(2);
+        batch.get(1).setRecipientId(null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v2/notifications/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", hasSize(greaterThan(0))));
+    }
+
+    @Test
+    void getUserNotificationSlice_ShouldWalkAllPagesWithCursor() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            notificationRepository.save(TestDataFactory.createNotification());
+        }
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+
+        // Act
+        do {
+            var request = get("/api/v2/notifications/cursor")
+                    .param("userId", TestDataFactory.TEST_USER_ID)
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            NotificationSlice slice = objectMapper.readValue(body, NotificationSlice.class);
+            slice.getContent().forEach(dto -> seen.add(dto.getId()));
+            cursor = slice.getNextCursor();
+            assertEquals(cursor != null, slice.isHasNext());
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void getUserNotificationSlice_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v2/notifications/cursor")
+                .param("userId", TestDataFactory.TEST_USER_ID)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportUserNotifications_ShouldStreamNdjson() throws Exception {
+        // Arrange - committed rows, the export runs on an async thread with its own transaction
+        for (int i = 0; i < 3; i++) {
+            notificationRepository.save(TestDataFactory.createNotification());
+        }
+
+        try {
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/v2/notifications/export")
+                    .param("userId", TestDataFactory.TEST_USER_ID))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            String[] lines = body.split("\n");
+            assertEquals(3, lines.length);
+            for (String line : lines) {
+                assertEquals(TestDataFactory.TEST_USER_ID,
+                        objectMapper.readValue(line, NotificationDto.class).getRecipientId());
+            }
+        } finally {
+            notificationRepository.deleteAll();
+        }
+    }
 }
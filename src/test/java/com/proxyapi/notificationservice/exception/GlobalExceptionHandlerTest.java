@@ -0,0 +1,47 @@
+package com.proxyapi.notificationservice.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void invalidRequest_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/invalid-request"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: abc"));
+    }
+
+    @Test
+    void unexpectedIllegalArgument_ShouldReturnInternalServerError() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/illegal-argument"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/invalid-request")
+        String invalidRequest() {
+            throw new InvalidRequestException("Invalid cursor: abc");
+        }
+
+        @GetMapping("/illegal-argument")
+        String illegalArgument() {
+            throw new IllegalArgumentException("Unknown NotificationStatus code 9");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.proxyapi.notificationservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.service.NotificationService;
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two application contexts in one JVM, each with its own database and simple broker, sharing an
+ * embedded Kafka broker as the fan-out bus.
+ */
+@EmbeddedKafka(partitions = 2, topics = "notification-fanout")
+class KafkaNotificationFanoutIntegrationTest {
+
+    private static final String RECIPIENT = "cluster-user";
+    private static final String DESTINATION = "/topic/notifications/" + RECIPIENT;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private final List<Message<?>> sentByA = new CopyOnWriteArrayList<>();
+    private final List<Message<?>> sentByB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        nodeA = startNode("node-a", broker, sentByA);
+        nodeB = startNode("node-b", broker, sentByB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void publish_ShouldReachSubscriberConnectedToAnotherNode() throws Exception {
+        // Arrange - the recipient is connected to node B only
+        nodeB.getBean(DestinationIndexedSubscriptionRegistry.class).registerSubscription(subscribe("session-b"));
+        NotificationDto notification = TestDataFactory.createNotificationDto();
+        notification.setRecipientId(RECIPIENT);
+
+        // Act - the notification is created on node A
+        nodeA.getBean(NotificationService.class).createNotification(notification);
+
+        // Assert
+        await().atMost(Duration.ofSeconds(30)).until(() -> !messagesTo(sentByB).isEmpty());
+        Message<?> delivered = messagesTo(sentByB).get(0);
+        assertEquals("session-b", SimpMessageHeaderAccessor.getSessionId(delivered.getHeaders()));
+        NotificationDto payload = new ObjectMapper().findAndRegisterModules()
+                .readValue((byte[]) delivered.getPayload(), NotificationDto.class);
+        assertEquals(notification.getTitle(), payload.getTitle());
+
+        MeterRegistry meters = nodeA.getBean(MeterRegistry.class);
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                meters.counter("notification.cluster.skipped").count() >= 1.0);
+        assertTrue(messagesTo(sentByA).isEmpty());
+    }
+
+    @Test
+    void startup_WithoutNodeId_ShouldFail(EmbeddedKafkaBroker broker) {
+        // Act
+        Exception failure = assertThrows(Exception.class, () -> new SpringApplicationBuilder(
+                NotificationServiceApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:no-node-id;DB_CLOSE_DELAY=-1",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "notification.cluster.mode=kafka")
+                .run());
+
+        // Assert
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertTrue(cause.getMessage().contains("notification.cluster.node-id"));
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, EmbeddedKafkaBroker broker,
+                                                            List<Message<?>> sent) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:" + nodeId + ";DB_CLOSE_DELAY=-1",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "notification.cluster.mode=kafka",
+                        "notification.cluster.node-id=" + nodeId)
+                .run();
+
+        context.getBean("clientOutboundChannel", AbstractSubscribableChannel.class)
+                .addInterceptor(new ChannelInterceptor() {
+                    @Override
+                    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                        sent.add(message);
+                        return message;
+                    }
+                });
+        context.getBean(KafkaListenerEndpointRegistry.class).getListenerContainers()
+                .forEach(container -> ContainerTestUtils.waitForAssignment(container, 2));
+        return context;
+    }
+
+    private static List<Message<?>> messagesTo(List<Message<?>> sent) {
+        return sent.stream()
+                .filter(message -> DESTINATION.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+                .toList();
+    }
+
+    private static Message<byte[]> subscribe(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(DESTINATION);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,112 @@
+package com.proxyapi.notificationservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "notification.kafka.enabled=true",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "notification.kafka.retry-initial-interval=10ms",
+        "notification.kafka.retry-max-interval=50ms"
+})
+@ActiveProfiles("test")
+@EmbeddedKafka(partitions = 2, topics = "notification-events")
+class NotificationEventListenerIntegrationTest {
+
+    private static final String RECIPIENT = "kafka-user";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    void onNotificationEvents_ShouldPersistAndPushEveryValidEvent() throws Exception {
+        // Arrange
+        var events = TestDataFactory.createNotificationDtos(50);
+        events.forEach(event -> event.setRecipientId(RECIPIENT));
+
+        // Act
+        kafkaTemplate.send("notification-events", RECIPIENT, "not json");
+        for (NotificationDto event : events) {
+            kafkaTemplate.send("notification-events", RECIPIENT, objectMapper.writeValueAsString(event));
+        }
+        kafkaTemplate.send("notification-events", RECIPIENT,
+                objectMapper.writeValueAsString(NotificationDto.builder().title("missing fields").build()));
+        kafkaTemplate.flush();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertEquals(50L, notificationRepository.countByRecipientIdAndStatus(
+                        RECIPIENT, Notification.NotificationStatus.UNREAD)));
+        verify(messagingTemplate, timeout(5000).times(50))
+                .convertAndSend(eq("/topic/notifications/" + RECIPIENT), any(NotificationDto.class));
+    }
+
+    @Test
+    void onNotificationEvents_WhenStoreFailsRepeatedly_ShouldRedeliverBatchUntilStored() throws Exception {
+        // Arrange - more consecutive failures than the container's default of nine retries would tolerate
+        AtomicInteger failures = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (failures.incrementAndGet() <= 12) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            return invocation.callRealMethod();
+        }).when(notificationService).ingestNotifications(anyList());
+        NotificationDto event = TestDataFactory.createNotificationDto();
+        event.setRecipientId(RECIPIENT);
+
+        // Act
+        kafkaTemplate.send("notification-events", RECIPIENT, objectMapper.writeValueAsString(event));
+        kafkaTemplate.flush();
+
+        // Assert - the batch was not committed while failing, so it is eventually stored
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertEquals(1L, notificationRepository.countByRecipientIdAndStatus(
+                        RECIPIENT, Notification.NotificationStatus.UNREAD)));
+        verify(notificationService, atLeast(13)).ingestNotifications(anyList());
+    }
+}
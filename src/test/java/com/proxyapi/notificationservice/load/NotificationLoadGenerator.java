@@ -0,0 +1,281 @@
+package com.proxyapi.notificationservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.NotificationServiceApplication;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.dto.NotificationSummary;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.websocket.SlowConsumerInterceptor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load harness: opens many STOMP/SockJS clients on {@code /ws}, each subscribed to its own
+ * {@code /topic/notifications/{userId}}, drives {@code POST /api/v2/notifications} at a fixed rate and records
+ * the time from sending the request to receiving the push in an HdrHistogram.
+ * <p>
+ * Send and receive happen in this JVM, so the send timestamp travels in the notification title and no
+ * clock synchronisation is needed. Without {@code load.target} the application is started in-process.
+ * Run with {@code ./gradlew loadTest}; settings are {@code -Pload.*} properties (see {@link Settings}).
+ */
+public final class NotificationLoadGenerator {
+
+    private static final String TITLE_PREFIX = "load ";
+
+    private final Settings settings;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+
+    NotificationLoadGenerator(Settings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        ConfigurableApplicationContext application = null;
+        String baseUrl = settings.target();
+        if (baseUrl == null) {
+            application = new SpringApplicationBuilder(NotificationServiceApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "notification.threads.virtual=" + Boolean.getBoolean("load.virtualThreads"),
+                            "spring.jpa.show-sql=false",
+                            "logging.level.root=WARN",
+                            "logging.level.com.proxyapi=WARN")
+                    .run();
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port") + "/api";
+        }
+        try {
+            new NotificationLoadGenerator(settings, baseUrl).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    void run() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+        // Needed to track the subscription receipts
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setThreadNamePrefix("load-receipts-");
+        taskScheduler.initialize();
+        stompClient.setTaskScheduler(taskScheduler);
+
+        System.out.printf("Connecting %d clients to %s/ws%n", settings.clients(), baseUrl);
+        List<StompSession> sessions = connect(stompClient);
+        try {
+            System.out.printf("Sending %d notifications at %d/s%n", settings.notifications(), settings.rate());
+            long started = System.nanoTime();
+            send();
+            awaitDeliveries();
+            report(Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            sessions.forEach(StompSession::disconnect);
+            stompClient.stop();
+            taskScheduler.shutdown();
+        }
+    }
+
+    private List<StompSession> connect(WebSocketStompClient stompClient) throws InterruptedException {
+        Semaphore connecting = new Semaphore(settings.connectConcurrency());
+        CountDownLatch subscribed = new CountDownLatch(settings.clients());
+        List<CompletableFuture<StompSession>> futures = new ArrayList<>(settings.clients());
+        for (int i = 0; i < settings.clients(); i++) {
+            String userId = userId(i);
+            connecting.acquire();
+            CompletableFuture<StompSession> future = stompClient
+                    .connectAsync(baseUrl + "/ws", new StompSessionHandlerAdapter() {
+                    })
+                    .whenComplete((session, e) -> connecting.release());
+            futures.add(future.thenApply(session -> {
+                session.setAutoReceipt(true);
+                session.subscribe("/topic/notifications/" + userId, new DeliveryHandler())
+                        .addReceiptTask(subscribed::countDown);
+                return session;
+            }));
+        }
+
+        List<StompSession> sessions = new ArrayList<>(futures.size());
+        for (CompletableFuture<StompSession> future : futures) {
+            try {
+                sessions.add(future.get(settings.connectTimeout().toMillis(), TimeUnit.MILLISECONDS));
+            } catch (Exception e) {
+                throw new IllegalStateException("Client failed to connect", e);
+            }
+        }
+        if (!subscribed.await(settings.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException(subscribed.getCount() + " subscriptions were not confirmed");
+        }
+        return sessions;
+    }
+
+    private void send() throws IOException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        URI uri = URI.create(baseUrl + "/api/v2/notifications");
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> requests = new ArrayList<>(settings.notifications());
+        for (int i = 0; i < settings.notifications(); i++) {
+            long due = start + i * intervalNanos;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            NotificationDto notification = NotificationDto.builder()
+                    .title(TITLE_PREFIX + System.nanoTime())
+                    .message("Load test notification " + i)
+                    .recipientId(userId(i % settings.clients()))
+                    .type(Notification.NotificationType.INFO)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(notification)))
+                    .build();
+            requests.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (e != null || response.statusCode() / 100 != 2) {
+                            failedRequests.incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+    }
+
+    private void awaitDeliveries() {
+        long deadline = System.nanoTime() + settings.drainTimeout().toNanos();
+        long expected = settings.notifications() - failedRequests.get();
+        while (delivered.get() + coalesced.get() < expected && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    private void report(Duration elapsed) throws IOException {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long missing = settings.notifications() - failedRequests.get() - delivered.get() - coalesced.get();
+        System.out.printf("%nDelivered %d of %d in %.1fs (failed requests: %d, coalesced: %d, missing: %d)%n",
+                delivered.get(), settings.notifications(), elapsed.toMillis() / 1000.0,
+                failedRequests.get(), coalesced.get(), missing);
+        System.out.printf("Create-to-delivery latency (ms): p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+
+        Path output = Path.of(settings.reportDir(), "latency.hgrm");
+        Files.createDirectories(output.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+        System.out.println("Percentile distribution (ms) written to " + output);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String userId(int client) {
+        return "load-user-" + client;
+    }
+
+    private class DeliveryHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return headers.containsKey(SlowConsumerInterceptor.SUMMARY_HEADER)
+                    ? NotificationSummary.class
+                    : NotificationDto.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long received = System.nanoTime();
+            if (payload instanceof NotificationSummary summary) {
+                // Slow-consumer policy replaced these pushes; they have no latency to record
+                coalesced.addAndGet(summary.getMissedCount());
+                return;
+            }
+            if (!(payload instanceof NotificationDto notification)) {
+                return;
+            }
+            String title = notification.getTitle();
+            if (title == null || !title.startsWith(TITLE_PREFIX)) {
+                return;
+            }
+            long sent = Long.parseLong(title.substring(TITLE_PREFIX.length()));
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(received - sent));
+            delivered.incrementAndGet();
+        }
+    }
+
+    /**
+     * Harness settings, read from {@code load.*} system properties.
+     *
+     * @param target             base URL including the servlet context path, e.g. {@code http://host:8080/api};
+     *                           {@code null} starts the application in-process
+     * @param clients            STOMP sessions, one user each
+     * @param notifications      notifications to create, spread round-robin over the users
+     * @param rate               create requests per second
+     * @param connectConcurrency handshakes in flight at once
+     * @param connectTimeout     limit for connecting and subscribing all clients
+     * @param drainTimeout       how long to wait for outstanding pushes after the last request
+     * @param reportDir          directory receiving {@code latency.hgrm}
+     */
+    record Settings(String target, int clients, int notifications, int rate, int connectConcurrency,
+                    Duration connectTimeout, Duration drainTimeout, String reportDir) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    System.getProperty("load.target"),
+                    Integer.getInteger("load.clients", 2_000),
+                    Integer.getInteger("load.notifications", 20_000),
+                    Integer.getInteger("load.rate", 1_000),
+                    Integer.getInteger("load.connectConcurrency", 100),
+                    Duration.ofSeconds(Integer.getInteger("load.connectTimeoutSeconds", 120)),
+                    Duration.ofSeconds(Integer.getInteger("load.drainTimeoutSeconds", 30)),
+                    System.getProperty("load.reportDir", "build/reports/load"));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.proxyapi.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.model.NotificationTemplate;
+import com.proxyapi.notificationservice.websocket.SerializedNotification;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BroadcastPayloadTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void serialize_ShouldProduceTheSameNotificationAsFullSerialization() throws Exception {
+        // Arrange
+        NotificationTemplate template = NotificationTemplate.builder()
+                .id(7L)
+                .title("Maintenance \"tonight\"")
+                .message("Read-only from 22:00 to 23:00.\nSorry for the inconvenience.")
+                .build();
+        Notification row = Notification.builder()
+                .id(42L)
+                .recipientId("alice")
+                .status(Notification.NotificationStatus.UNREAD)
+                .type(Notification.NotificationType.WARNING)
+                .template(template)
+                .createdAt(LocalDateTime.of(2024, 3, 14, 9, 26, 53))
+                .updatedAt(LocalDateTime.of(2024, 3, 14, 9, 26, 53))
+                .build();
+        NotificationDto notification = NotificationDto.fromEntity(row);
+        BroadcastPayload payload = new BroadcastPayload(objectMapper, template, Notification.NotificationType.WARNING);
+
+        // Act
+        SerializedNotification result = payload.serialize(notification);
+
+        // Assert
+        assertSame(notification, result.notification());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(notification)),
+                objectMapper.readTree(result.json()));
+    }
+}
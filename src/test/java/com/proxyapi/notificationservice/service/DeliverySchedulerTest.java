@@ -0,0 +1,131 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeliverySchedulerTest {
+
+    private static final String DESTINATION = "/topic/notifications/" + TestDataFactory.TEST_USER_ID;
+
+    private final List<Notification.NotificationType> published = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstPublishReleased = new CountDownLatch(1);
+    private final CountDownLatch firstPublishStarted = new CountDownLatch(1);
+
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private DeliveryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getDelivery().setThreads(1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstPublishReleased.countDown();
+        if (scheduler != null) {
+            scheduler.destroy();
+        }
+    }
+
+    @Test
+    void submit_ErrorBehindInfoBacklog_ShouldBeDeliveredFirst() throws Exception {
+        // Arrange - the only worker is stuck on the first INFO push
+        scheduler = blockingScheduler();
+        scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+        assertTrue(firstPublishStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+        }
+
+        // Act
+        CompletableFuture<Void> error = scheduler.submit(DESTINATION, notification(Notification.NotificationType.ERROR));
+        firstPublishReleased.countDown();
+
+        // Assert
+        error.get(1, TimeUnit.SECONDS);
+        await().until(() -> published.size() == 12);
+        assertEquals(Notification.NotificationType.ERROR, published.get(1));
+        assertEquals(1L, meterRegistry.get("notification.delivery.queue.delay").tag("type", "ERROR").timer().count());
+    }
+
+    @Test
+    void submit_AboveRateLimit_ShouldHoldBacklogInQueue() throws Exception {
+        // Arrange
+        properties.getDelivery().getRateLimits().put(Notification.NotificationType.INFO, 5);
+        scheduler = new DeliveryScheduler((destination, payload) -> {
+            published.add(((NotificationDto) payload).getType());
+            return CompletableFuture.completedFuture(null);
+        }, properties, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+        }
+        Thread.sleep(200);
+
+        // Assert - a full bucket lets 5 through at once, then about one per 200 ms
+        assertTrue(published.size() >= 5 && published.size() <= 7, "published " + published.size());
+        assertTrue(meterRegistry.get("notification.delivery.queue.size").tag("type", "INFO").gauge().value() >= 13);
+    }
+
+    @Test
+    void submit_WhenQueueFull_ShouldFailFuture() throws Exception {
+        // Arrange
+        properties.getDelivery().setQueueCapacity(1);
+        scheduler = blockingScheduler();
+        scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+        assertTrue(firstPublishStarted.await(1, TimeUnit.SECONDS));
+        scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+
+        // Act
+        CompletableFuture<Void> rejected = scheduler.submit(DESTINATION, notification(Notification.NotificationType.INFO));
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    private DeliveryScheduler blockingScheduler() {
+        return new DeliveryScheduler((destination, payload) -> {
+            if (published.isEmpty()) {
+                firstPublishStarted.countDown();
+                try {
+                    firstPublishReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            published.add(((NotificationDto) payload).getType());
+            return CompletableFuture.completedFuture(null);
+        }, properties, meterRegistry);
+    }
+
+    private static NotificationDto notification(Notification.NotificationType type) {
+        NotificationDto notification = TestDataFactory.createNotificationDto();
+        notification.setType(type);
+        return notification;
+    }
+}
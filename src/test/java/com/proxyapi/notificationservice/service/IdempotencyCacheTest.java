@@ -0,0 +1,73 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyCacheTest {
+
+    private NotificationProperties properties;
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        idempotencyCache = new IdempotencyCache(properties);
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnNotificationForSameRecipientOnly() {
+        // Arrange
+        NotificationDto notification = keyed("order-42-shipped");
+
+        // Act
+        idempotencyCache.put(notification);
+
+        // Assert
+        assertEquals(notification, idempotencyCache.get(TestDataFactory.TEST_USER_ID, "order-42-shipped").orElseThrow());
+        assertTrue(idempotencyCache.get("other-user", "order-42-shipped").isEmpty());
+    }
+
+    @Test
+    void get_AfterTtl_ShouldMiss() throws InterruptedException {
+        // Arrange
+        properties.getIdempotency().setTtl(Duration.ofMillis(10));
+        idempotencyCache = new IdempotencyCache(properties);
+        idempotencyCache.put(keyed("order-42-shipped"));
+
+        // Act
+        Thread.sleep(20);
+
+        // Assert
+        assertTrue(idempotencyCache.get(TestDataFactory.TEST_USER_ID, "order-42-shipped").isEmpty());
+        assertEquals(0, idempotencyCache.size());
+    }
+
+    @Test
+    void put_WhenFull_ShouldStayBounded() {
+        // Arrange
+        properties.getIdempotency().setMaxEntries(10);
+        idempotencyCache = new IdempotencyCache(properties);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            idempotencyCache.put(keyed("key-" + i));
+        }
+
+        // Assert
+        assertTrue(idempotencyCache.size() <= 10, "held " + idempotencyCache.size());
+    }
+
+    private static NotificationDto keyed(String dedupKey) {
+        NotificationDto notification = TestDataFactory.createNotificationDto();
+        notification.setDedupKey(dedupKey);
+        return notification;
+    }
+}
@@ -0,0 +1,123 @@
+package com.proxyapi.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCacheTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationCache notificationCache;
+    private NotificationDto notification;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        notificationCache = new NotificationCache(notificationRepository, properties,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        notification = TestDataFactory.createNotificationDto();
+        notification.setId(1L);
+    }
+
+    @Test
+    void get_ShouldLoadFromDatabaseOnlyOnce() {
+        // Arrange
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(notification));
+
+        // Act
+        notificationCache.get(1L);
+        notificationCache.get(1L);
+        String title = notificationCache.get(1L).orElseThrow().getTitle();
+
+        // Assert
+        assertEquals(notification.getTitle(), title);
+        verify(notificationRepository, times(1)).findDtoById(1L);
+        assertEquals(2.0, meterRegistry.get("notification.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("notification.cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_AfterInvalidate_ShouldReload() {
+        // Arrange
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(notification));
+        notificationCache.get(1L);
+
+        // Act
+        notificationCache.invalidate(List.of(1L));
+        notificationCache.get(1L);
+
+        // Assert
+        verify(notificationRepository, times(2)).findDtoById(1L);
+    }
+
+    @Test
+    void invalidateRecipient_ShouldDropOnlyThatRecipient() {
+        // Arrange
+        NotificationDto other = TestDataFactory.createNotificationDto();
+        other.setId(2L);
+        other.setRecipientId("other-user");
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(notification));
+        when(notificationRepository.findDtoById(2L)).thenReturn(Optional.of(other));
+        notificationCache.get(1L);
+        notificationCache.get(2L);
+
+        // Act
+        notificationCache.invalidateRecipient(TestDataFactory.TEST_USER_ID);
+
+        // Assert
+        assertEquals(1, notificationCache.size());
+        notificationCache.get(2L);
+        verify(notificationRepository, times(1)).findDtoById(2L);
+    }
+
+    @Test
+    void getJson_ShouldSerializeOncePerEntry() {
+        // Arrange
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(notification));
+
+        // Act
+        byte[] first = notificationCache.getJson(1L).orElseThrow();
+        byte[] second = notificationCache.getJson(1L).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"title\":\"" + notification.getTitle() + "\""));
+    }
+
+    @Test
+    void get_WhenMissing_ShouldNotCache() {
+        // Arrange
+        when(notificationRepository.findDtoById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        notificationCache.get(999L);
+        notificationCache.get(999L);
+
+        // Assert
+        assertEquals(0, notificationCache.size());
+        verify(notificationRepository, times(2)).findDtoById(999L);
+    }
+}
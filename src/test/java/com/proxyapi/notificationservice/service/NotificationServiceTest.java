@@ -1,25 +1,46 @@
 package com.proxyapi.notificationservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.BroadcastRequest;
+import com.proxyapi.notificationservice.dto.BroadcastResult;
+import com.proxyapi.notificationservice.dto.BulkNotificationRequest;
 import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.exception.InvalidRequestException;
 import com.proxyapi.notificationservice.exception.NotificationNotFoundException;
+import com.proxyapi.notificationservice.exception.RateLimitExceededException;
 import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.model.NotificationTemplate;
+import com.proxyapi.notificationservice.repository.GroupMemberRepository;
 import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.NotificationTemplateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.stubbing.Answer;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,11 +51,48 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private NotificationTemplateRepository templateRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private OutboxDispatcher outboxDispatcher;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private UnreadCountPublisher unreadCountPublisher;
+
+    @Mock
+    private RecipientRateLimiter recipientRateLimiter;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private NotificationCache notificationCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private NotificationProperties properties = new NotificationProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private NotificationService notificationService;
 
+    private final AtomicLong ids = new AtomicLong();
     private Notification testNotification;
     private NotificationDto testNotificationDto;
 
@@ -47,34 +105,103 @@ class NotificationServiceTest {
     @Test
     void createNotification_ShouldSaveAndReturnNotification() {
         // Arrange
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(assigningIds());
 
         // Act
         NotificationDto result = notificationService.createNotification(testNotificationDto);
 
         // Assert
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals(testNotificationDto.getTitle(), result.getTitle());
         assertEquals(testNotificationDto.getMessage(), result.getMessage());
         assertEquals(testNotificationDto.getRecipientId(), result.getRecipientId());
         
-        // Verify WebSocket message was sent
-        verify(messagingTemplate).convertAndSend(
-            eq("/topic/notifications/" + testNotificationDto.getRecipientId()),
-            any(NotificationDto.class)
-        );
+        // Verify the WebSocket push was handed to the outbox
+        verify(outboxDispatcher).schedule(List.of(result));
+        verify(unreadCountCache).adjust(testNotificationDto.getRecipientId(), 1L);
+        verify(unreadCountPublisher).record(testNotificationDto.getRecipientId(), 1L);
+    }
+
+    @Test
+    void createNotification_OverLimitInDigestMode_ShouldFoldInsteadOfSaving() {
+        // Arrange
+        properties.getRateLimit().setMode(NotificationProperties.RateLimit.Mode.DIGEST);
+        when(recipientRateLimiter.tryAcquire(TestDataFactory.TEST_USER_ID)).thenReturn(false);
+
+        // Act
+        NotificationDto result = notificationService.createNotification(testNotificationDto);
+
+        // Assert
+        assertNull(result.getId());
+        verify(recipientRateLimiter).fold(testNotificationDto);
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verifyNoInteractions(outboxDispatcher);
+    }
+
+    @Test
+    void createNotification_OverLimitInStrictMode_ShouldThrow() {
+        // Arrange
+        properties.getRateLimit().setMode(NotificationProperties.RateLimit.Mode.STRICT);
+        when(recipientRateLimiter.tryAcquire(TestDataFactory.TEST_USER_ID)).thenReturn(false);
+        when(recipientRateLimiter.retryAfter(TestDataFactory.TEST_USER_ID)).thenReturn(Duration.ofMillis(300));
+
+        // Act & Assert
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+                () -> notificationService.createNotification(testNotificationDto));
+        assertEquals(Duration.ofMillis(300), e.getRetryAfter());
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void createNotification_WithUsedDedupKey_ShouldReturnOriginal() {
+        // Arrange
+        testNotificationDto.setDedupKey("order-42-shipped");
+        testNotification.setId(42L);
+        when(idempotencyCache.get(TestDataFactory.TEST_USER_ID, "order-42-shipped")).thenReturn(Optional.empty());
+        when(notificationRepository.findByRecipientIdAndDedupKey(TestDataFactory.TEST_USER_ID, "order-42-shipped"))
+                .thenReturn(Optional.of(testNotification));
+
+        // Act
+        NotificationDto result = notificationService.createNotification(testNotificationDto);
+
+        // Assert
+        assertEquals(42L, result.getId());
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).saveAndFlush(any(Notification.class));
+        verifyNoInteractions(outboxDispatcher, recipientRateLimiter);
+    }
+
+    @Test
+    void createNotification_WithNewDedupKey_ShouldFlushAndRemember() {
+        // Arrange
+        testNotificationDto.setDedupKey("order-42-shipped");
+        when(idempotencyCache.get(TestDataFactory.TEST_USER_ID, "order-42-shipped")).thenReturn(Optional.empty());
+        when(notificationRepository.findByRecipientIdAndDedupKey(TestDataFactory.TEST_USER_ID, "order-42-shipped"))
+                .thenReturn(Optional.empty());
+        when(notificationRepository.saveAndFlush(any(Notification.class))).thenAnswer(assigningIds());
+
+        // Act
+        NotificationDto result = notificationService.createNotification(testNotificationDto);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        verify(idempotencyCache).put(result);
+        verify(outboxDispatcher).schedule(List.of(result));
     }
 
     @Test
     void getUserNotifications_ShouldReturnPagedNotifications() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
-        Page<Notification> notificationPage = new PageImpl<>(List.of(testNotification), pageable, 1);
+        testNotificationDto.setId(1L);
+        Page<Long> idPage = new PageImpl<>(List.of(1L), pageable, 1);
         
-        when(notificationRepository.findByRecipientIdOrderByCreatedAtDesc(
+        when(notificationRepository.findIdPageByRecipientId(
             anyString(), 
             any(Pageable.class)
-        )).thenReturn(notificationPage);
+        )).thenReturn(idPage);
+        when(notificationRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(testNotificationDto));
 
         // Act
         var result = notificationService.getUserNotifications(
@@ -88,10 +215,45 @@ class NotificationServiceTest {
         assertEquals(TestDataFactory.TEST_TITLE, result.getContent().get(0).getTitle());
     }
 
+    @Test
+    void getUserNotifications_ShouldKeepIndexOrderAndSkipRowsDeletedMeanwhile() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 3);
+        NotificationDto newest = NotificationDto.builder().id(3L).title("Newest").build();
+        NotificationDto oldest = NotificationDto.builder().id(1L).title("Oldest").build();
+        when(notificationRepository.findIdPageByRecipientId(TestDataFactory.TEST_USER_ID, pageable))
+                .thenReturn(new PageImpl<>(List.of(3L, 2L, 1L), pageable, 3));
+        when(notificationRepository.findDtosByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(oldest, newest));
+
+        // Act
+        Page<NotificationDto> result = notificationService.getUserNotifications(TestDataFactory.TEST_USER_ID, pageable);
+
+        // Assert
+        assertEquals(List.of(newest, oldest), result.getContent());
+        assertEquals(3, result.getTotalElements());
+        verify(notificationRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getUserNotifications_WithoutPaging_ShouldApplyLegacyLimit() {
+        // Arrange
+        properties.getListing().setLegacyMaxResults(25);
+        when(notificationRepository.findFirstPage(
+            TestDataFactory.TEST_USER_ID,
+            Limit.of(25)
+        )).thenReturn(List.of(testNotificationDto));
+
+        // Act
+        List<NotificationDto> result = notificationService.getUserNotifications(TestDataFactory.TEST_USER_ID);
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
     @Test
     void getNotificationById_WhenExists_ShouldReturnNotification() {
         // Arrange
-        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+        when(notificationCache.get(1L)).thenReturn(Optional.of(NotificationDto.fromEntity(testNotification)));
 
         // Act
         NotificationDto result = notificationService.getNotificationById(1L);
@@ -104,7 +266,7 @@ class NotificationServiceTest {
     @Test
     void getNotificationById_WhenNotExists_ShouldThrowException() {
         // Arrange
-        when(notificationRepository.findById(999L)).thenReturn(Optional.empty());
+        when(notificationCache.get(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotificationNotFoundException.class, () -> 
@@ -113,53 +275,144 @@ class NotificationServiceTest {
     }
 
     @Test
-    void markAsRead_ShouldUpdateNotificationStatus() {
+    void markAsRead_ShouldIssueConditionalUpdate() {
         // Arrange
-        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
-        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        NotificationDto read = TestDataFactory.createNotificationDto();
+        read.setId(1L);
+        when(notificationRepository.updateStatus(eq(1L), eq(Notification.NotificationStatus.UNREAD),
+            eq(Notification.NotificationStatus.READ), any(LocalDateTime.class))).thenReturn(1);
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(read));
 
         // Act
         NotificationDto result = notificationService.markAsRead(1L);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(Notification.NotificationStatus.READ, testNotification.getStatus());
-        verify(notificationRepository).save(testNotification);
+        assertSame(read, result);
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(notificationRepository, never()).findStateById(anyLong());
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, -1);
+        verify(unreadCountPublisher).record(TestDataFactory.TEST_USER_ID, -1);
+        verify(notificationCache).invalidate(1L);
+    }
+
+    @Test
+    void markAsRead_WhenAlreadyRead_ShouldNotAdjustUnreadCount() {
+        // Arrange
+        when(notificationRepository.updateStatus(eq(1L), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(notificationRepository.findDtoById(1L)).thenReturn(Optional.of(TestDataFactory.createNotificationDto()));
+
+        // Act
+        notificationService.markAsRead(1L);
+
+        // Assert
+        verify(unreadCountCache, never()).adjust(anyString(), anyLong());
+    }
+
+    @Test
+    void markAsRead_WhenNotExists_ShouldThrowException() {
+        // Arrange
+        when(notificationRepository.updateStatus(eq(999L), any(), any(), any(LocalDateTime.class))).thenReturn(0);
+        when(notificationRepository.findDtoById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(NotificationNotFoundException.class, () ->
+            notificationService.markAsRead(999L)
+        );
+        verify(unreadCountCache, never()).adjust(anyString(), anyLong());
+    }
+
+    @Test
+    void markAsRead_Bulk_ShouldAdjustUnreadCountByAffectedRows() {
+        // Arrange
+        BulkNotificationRequest request = BulkNotificationRequest.builder()
+            .userId(TestDataFactory.TEST_USER_ID)
+            .ids(List.of(1L, 2L, 3L))
+            .build();
+        when(notificationRepository.updateStatusByIds(eq(TestDataFactory.TEST_USER_ID), eq(List.of(1L, 2L, 3L)),
+            eq(Notification.NotificationStatus.UNREAD), eq(Notification.NotificationStatus.READ),
+            any(LocalDateTime.class))).thenReturn(2);
+
+        // Act
+        int result = notificationService.markAsRead(request);
+
+        // Assert
+        assertEquals(2, result);
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, -2);
+        verify(notificationCache).invalidate(List.of(1L, 2L, 3L));
     }
 
     @Test
     void deleteNotification_WhenExists_ShouldDelete() {
         // Arrange
-        when(notificationRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(notificationRepository).deleteById(1L);
+        when(notificationRepository.findStateById(1L)).thenReturn(Optional.of(unreadState()));
+        when(notificationRepository.deleteWhereIdAndStatusIn(1L, List.of(Notification.NotificationStatus.UNREAD)))
+            .thenReturn(1);
 
         // Act
         notificationService.deleteNotification(1L);
 
         // Assert
-        verify(notificationRepository).deleteById(1L);
+        verify(notificationRepository, times(1)).deleteWhereIdAndStatusIn(anyLong(), anyCollection());
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, -1);
+        verify(notificationCache).invalidate(1L);
+    }
+
+    @Test
+    void deleteNotification_WhenReadConcurrently_ShouldNotAdjustUnreadCount() {
+        // Arrange
+        when(notificationRepository.findStateById(1L)).thenReturn(Optional.of(unreadState()));
+        when(notificationRepository.deleteWhereIdAndStatusIn(1L, List.of(Notification.NotificationStatus.UNREAD)))
+            .thenReturn(0);
+        when(notificationRepository.deleteWhereIdAndStatusIn(1L,
+            List.of(Notification.NotificationStatus.READ, Notification.NotificationStatus.ARCHIVED))).thenReturn(1);
+
+        // Act
+        notificationService.deleteNotification(1L);
+
+        // Assert
+        verify(unreadCountCache, never()).adjust(anyString(), anyLong());
+        verify(notificationCache).invalidate(1L);
     }
 
     @Test
     void deleteNotification_WhenNotExists_ShouldThrowException() {
         // Arrange
-        when(notificationRepository.existsById(999L)).thenReturn(false);
+        when(notificationRepository.findStateById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotificationNotFoundException.class, () -> 
             notificationService.deleteNotification(999L)
         );
-        verify(notificationRepository, never()).deleteById(anyLong());
+        verify(notificationRepository, never()).deleteWhereIdAndStatusIn(anyLong(), anyCollection());
+    }
+
+    @Test
+    void deleteNotifications_Bulk_ShouldAdjustUnreadCountByUnreadRows() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+        BulkNotificationRequest request = BulkNotificationRequest.builder()
+            .userId(TestDataFactory.TEST_USER_ID)
+            .before(before)
+            .build();
+        when(notificationRepository.deleteCreatedBefore(TestDataFactory.TEST_USER_ID, before,
+            List.of(Notification.NotificationStatus.UNREAD))).thenReturn(4);
+        when(notificationRepository.deleteCreatedBefore(TestDataFactory.TEST_USER_ID, before,
+            List.of(Notification.NotificationStatus.READ, Notification.NotificationStatus.ARCHIVED))).thenReturn(6);
+
+        // Act
+        int result = notificationService.deleteNotifications(request);
+
+        // Assert
+        assertEquals(10, result);
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, -4);
+        verify(notificationCache).invalidateRecipient(TestDataFactory.TEST_USER_ID);
     }
 
     @Test
     void getUnreadCount_ShouldReturnCorrectCount() {
         // Arrange
         long expectedCount = 5L;
-        when(notificationRepository.countByRecipientIdAndStatus(
-            TestDataFactory.TEST_USER_ID, 
-            Notification.NotificationStatus.UNREAD
-        )).thenReturn(expectedCount);
+        when(unreadCountCache.get(TestDataFactory.TEST_USER_ID)).thenReturn(expectedCount);
 
         // Act
         long result = notificationService.getUnreadCount(TestDataFactory.TEST_USER_ID);
@@ -167,4 +420,308 @@ class NotificationServiceTest {
         // Assert
         assertEquals(expectedCount, result);
     }
+
+    @Test
+    void createNotifications_ShouldSaveInChunksOfBatchSize() {
+        // Arrange
+        properties.getBatch().setSize(2);
+        List<NotificationDto> batch = TestDataFactory.createNotificationDtos(5);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        List<NotificationDto> result = notificationService.createNotifications(batch);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), result.stream().map(NotificationDto::getId).toList());
+        verify(notificationRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(outboxDispatcher, times(3)).schedule(anyList());
+        verify(unreadCountCache, times(2)).adjust(TestDataFactory.TEST_USER_ID, 2L);
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, 1L);
+    }
+
+    @Test
+    void createNotifications_WithDuplicateDedupKeys_ShouldSkipThem() {
+        // Arrange
+        List<NotificationDto> batch = TestDataFactory.createNotificationDtos(3);
+        batch.get(0).setDedupKey("already-used");
+        batch.get(1).setDedupKey("fresh");
+        batch.get(2).setDedupKey("fresh");
+        when(idempotencyCache.get(anyString(), anyString())).thenReturn(Optional.empty());
+        when(notificationRepository.findByRecipientIdAndDedupKey(TestDataFactory.TEST_USER_ID, "already-used"))
+                .thenReturn(Optional.of(testNotification));
+        when(notificationRepository.findByRecipientIdAndDedupKey(TestDataFactory.TEST_USER_ID, "fresh"))
+                .thenReturn(Optional.empty());
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        List<NotificationDto> result = notificationService.createNotifications(batch);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals("fresh", result.get(0).getDedupKey());
+        verify(idempotencyCache).put(result.get(0));
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, 1L);
+    }
+
+    @Test
+    void createNotifications_WithRepeatedText_ShouldShareOneTemplate() {
+        // Arrange
+        List<NotificationDto> batch = List.of(
+                TestDataFactory.createNotificationDto(),
+                TestDataFactory.createNotificationDto(),
+                NotificationDto.builder().title("Unique").message("Only once")
+                        .recipientId(TestDataFactory.TEST_USER_ID).type(TestDataFactory.TEST_TYPE).build());
+        NotificationTemplate template = NotificationTemplate.builder()
+                .id(7L).title(TestDataFactory.TEST_TITLE).message(TestDataFactory.TEST_MESSAGE).build();
+        when(templateRepository.findByContentHash(
+                NotificationTemplate.contentHash(TestDataFactory.TEST_TITLE, TestDataFactory.TEST_MESSAGE)))
+                .thenReturn(Optional.of(template));
+        when(templateRepository.markUsed(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        List<NotificationDto> result = notificationService.createNotifications(batch);
+
+        // Assert
+        ArgumentCaptor<List<Notification>> rows = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(rows.capture());
+        assertSame(template, rows.getValue().get(0).getTemplate());
+        assertSame(template, rows.getValue().get(1).getTemplate());
+        assertNull(rows.getValue().get(2).getTemplate());
+        assertEquals("Unique", rows.getValue().get(2).getTitle());
+        assertEquals(TestDataFactory.TEST_TITLE, result.get(0).getTitle());
+        verify(templateRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createNotifications_OverLimitInDigestMode_ShouldFoldThoseOverLimit() {
+        // Arrange
+        properties.getRateLimit().setMode(NotificationProperties.RateLimit.Mode.DIGEST);
+        List<NotificationDto> batch = TestDataFactory.createNotificationDtos(3);
+        when(recipientRateLimiter.tryAcquire(TestDataFactory.TEST_USER_ID)).thenReturn(true, false, false);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        List<NotificationDto> result = notificationService.createNotifications(batch);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(recipientRateLimiter).fold(batch.get(1));
+        verify(recipientRateLimiter).fold(batch.get(2));
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, 1L);
+    }
+
+    @Test
+    void createNotifications_OverLimitInStrictMode_ShouldRejectBatch() {
+        // Arrange
+        properties.getRateLimit().setMode(NotificationProperties.RateLimit.Mode.STRICT);
+        when(recipientRateLimiter.tryAcquire(TestDataFactory.TEST_USER_ID)).thenReturn(true, false);
+        when(recipientRateLimiter.retryAfter(TestDataFactory.TEST_USER_ID)).thenReturn(Duration.ofMillis(300));
+
+        // Act & Assert
+        assertThrows(RateLimitExceededException.class, () ->
+                notificationService.createNotifications(TestDataFactory.createNotificationDtos(2)));
+        verify(notificationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void ingestNotifications_OverLimitInStrictMode_ShouldFoldInsteadOfRejecting() {
+        // Arrange
+        properties.getRateLimit().setMode(NotificationProperties.RateLimit.Mode.STRICT);
+        List<NotificationDto> batch = TestDataFactory.createNotificationDtos(2);
+        when(recipientRateLimiter.tryAcquire(TestDataFactory.TEST_USER_ID)).thenReturn(true, false);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        List<NotificationDto> result = notificationService.ingestNotifications(batch);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(recipientRateLimiter).fold(batch.get(1));
+        verify(recipientRateLimiter, never()).retryAfter(anyString());
+    }
+
+    @Test
+    void createNotifications_WhenOverMaxRequestSize_ShouldThrowException() {
+        // Arrange
+        properties.getBatch().setMaxRequestSize(1);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () ->
+            notificationService.createNotifications(TestDataFactory.createNotificationDtos(2))
+        );
+        verify(notificationRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void broadcast_ToRecipientList_ShouldShareOneTemplateAcrossChunks() {
+        // Arrange
+        properties.getBatch().setSize(2);
+        when(templateRepository.saveAndFlush(any(NotificationTemplate.class))).thenAnswer(invocation -> {
+            NotificationTemplate template = invocation.getArgument(0);
+            template.setId(7L);
+            return template;
+        });
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        BroadcastResult result = notificationService.broadcast(broadcastRequest()
+                .recipientIds(List.of("alice", "bob", "alice", "carol"))
+                .build());
+
+        // Assert
+        assertEquals(7L, result.getTemplateId());
+        assertEquals(3, result.getRecipients());
+        ArgumentCaptor<List<Notification>> rows = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(2)).saveAll(rows.capture());
+        Notification row = rows.getAllValues().get(0).get(0);
+        assertEquals(7L, row.getTemplate().getId());
+        assertEquals("Maintenance tonight", row.getTitle());
+        verify(templateRepository).saveAndFlush(any(NotificationTemplate.class));
+        verify(outboxDispatcher, times(2)).schedule(anyList(), any());
+        verify(unreadCountCache).adjust("carol", 1L);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void broadcast_WhenChunkFails_ShouldKeepEarlierChunksCommitted() {
+        // Arrange
+        properties.getBatch().setSize(2);
+        when(templateRepository.saveAndFlush(any(NotificationTemplate.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificationRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("connection lost"));
+        BroadcastRequest request = broadcastRequest().recipientIds(List.of("alice", "bob", "carol")).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> notificationService.broadcast(request));
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager).rollback(any());
+        verify(outboxDispatcher, times(1)).schedule(anyList(), any());
+    }
+
+    @Test
+    void broadcast_ToGroup_ShouldPageThroughMembers() {
+        // Arrange
+        properties.getBatch().setSize(2);
+        when(templateRepository.saveAndFlush(any(NotificationTemplate.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(groupMemberRepository.findRecipientIdsAfter(eq("ops"), eq(""), any(Limit.class)))
+                .thenReturn(List.of("alice", "bob"));
+        when(groupMemberRepository.findRecipientIdsAfter(eq("ops"), eq("bob"), any(Limit.class)))
+                .thenReturn(List.of("carol"));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        BroadcastResult result = notificationService.broadcast(broadcastRequest().group("ops").build());
+
+        // Assert
+        assertEquals(3, result.getRecipients());
+        verify(groupMemberRepository, times(2)).findRecipientIdsAfter(anyString(), anyString(), any(Limit.class));
+    }
+
+    @Test
+    void broadcast_WithUsedDedupKey_ShouldOnlyReachRemainingRecipients() {
+        // Arrange
+        when(templateRepository.saveAndFlush(any(NotificationTemplate.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificationRepository.findRecipientIdsWithDedupKey(List.of("alice", "bob"), "maintenance-1"))
+                .thenReturn(List.of("alice"));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        BroadcastResult result = notificationService.broadcast(broadcastRequest()
+                .recipientIds(List.of("alice", "bob"))
+                .dedupKey("maintenance-1")
+                .build());
+
+        // Assert
+        assertEquals(1, result.getRecipients());
+        ArgumentCaptor<List<Notification>> rows = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("bob", rows.getValue().get(0).getRecipientId());
+        assertEquals("maintenance-1", rows.getValue().get(0).getDedupKey());
+        verify(unreadCountCache, never()).adjust(eq("alice"), anyLong());
+    }
+
+    @Test
+    void broadcast_WithKnownText_ShouldReuseItsTemplate() {
+        // Arrange
+        BroadcastRequest request = broadcastRequest().recipientIds(List.of("alice")).build();
+        NotificationTemplate existing = NotificationTemplate.builder()
+                .id(7L).title(request.getTitle()).message(request.getMessage()).build();
+        when(templateRepository.findByContentHash(
+                NotificationTemplate.contentHash(request.getTitle(), request.getMessage())))
+                .thenReturn(Optional.of(existing));
+        when(templateRepository.markUsed(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        BroadcastResult result = notificationService.broadcast(request);
+
+        // Assert
+        assertEquals(7L, result.getTemplateId());
+        verify(templateRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void broadcast_WhenSameTextStoredConcurrently_ShouldReuseTheOtherTemplate() {
+        // Arrange
+        BroadcastRequest request = broadcastRequest().recipientIds(List.of("alice")).build();
+        NotificationTemplate stored = NotificationTemplate.builder()
+                .id(7L).title(request.getTitle()).message(request.getMessage()).build();
+        when(templateRepository.findByContentHash(
+                NotificationTemplate.contentHash(request.getTitle(), request.getMessage())))
+                .thenReturn(Optional.empty(), Optional.of(stored));
+        when(templateRepository.saveAndFlush(any(NotificationTemplate.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_notification_templates_hash"));
+        when(templateRepository.markUsed(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(assigningIds());
+
+        // Act
+        BroadcastResult result = notificationService.broadcast(request);
+
+        // Assert
+        assertEquals(7L, result.getTemplateId());
+        assertEquals(1L, result.getRecipients());
+        verify(templateRepository).saveAndFlush(any(NotificationTemplate.class));
+    }
+
+    /**
+     * Stands in for the id sequence, so saved rows carry ids and assertions on them compare real values.
+     */
+    private Answer<Object> assigningIds() {
+        return invocation -> {
+            Object saved = invocation.getArgument(0);
+            List<?> rows = saved instanceof List<?> list ? list : List.of(saved);
+            rows.forEach(row -> ((Notification) row).setId(ids.incrementAndGet()));
+            return saved;
+        };
+    }
+
+    private static BroadcastRequest.BroadcastRequestBuilder broadcastRequest() {
+        return BroadcastRequest.builder()
+                .title("Maintenance tonight")
+                .message("The service is read-only from 22:00 to 23:00.")
+                .type(Notification.NotificationType.WARNING);
+    }
+
+    private static NotificationRepository.NotificationState unreadState() {
+        return new NotificationRepository.NotificationState() {
+            @Override
+            public String getRecipientId() {
+                return TestDataFactory.TEST_USER_ID;
+            }
+
+            @Override
+            public Notification.NotificationStatus getStatus() {
+                return Notification.NotificationStatus.UNREAD;
+            }
+        };
+    }
 }
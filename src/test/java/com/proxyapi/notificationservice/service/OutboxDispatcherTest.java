@@ -0,0 +1,182 @@
+package com.proxyapi.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.model.OutboxEvent;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.OutboxEventRepository;
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import com.proxyapi.notificationservice.websocket.LocalNotificationFanout;
+import com.proxyapi.notificationservice.websocket.ReplayBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeliveryScheduler deliveryScheduler;
+    private OutboxDispatcher outboxDispatcher;
+    private NotificationDto savedDto;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        NotificationProperties properties = new NotificationProperties();
+        ReplayBuffer replayBuffer = new ReplayBuffer(properties, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        deliveryScheduler = new DeliveryScheduler(new LocalNotificationFanout(messagingTemplate, replayBuffer,
+                new DestinationIndexedSubscriptionRegistry()),
+                properties, meterRegistry);
+        outboxDispatcher = new OutboxDispatcher(outboxEventRepository, notificationRepository,
+                deliveryScheduler, properties, meterRegistry);
+
+        savedDto = TestDataFactory.createNotificationDto();
+        savedDto.setId(42L);
+
+        AtomicLong ids = new AtomicLong();
+        lenient().when(outboxEventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OutboxEvent> events = invocation.getArgument(0);
+            events.forEach(event -> event.setId(ids.incrementAndGet()));
+            return events;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        outboxDispatcher.destroy();
+        deliveryScheduler.destroy();
+    }
+
+    @Test
+    void schedule_InsideTransaction_ShouldPushOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        outboxDispatcher.schedule(List.of(savedDto));
+
+        // Assert - nothing is pushed while the transaction is open
+        verify(outboxEventRepository).saveAll(anyList());
+        verifyNoInteractions(messagingTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(messagingTemplate, timeout(1000)).convertAndSend(
+                "/topic/notifications/" + savedDto.getRecipientId(), savedDto);
+        await().untilAsserted(() ->
+                assertEquals(1.0, meterRegistry.counter("notification.outbox.dispatched").count()));
+    }
+
+    @Test
+    void schedule_WhenRolledBack_ShouldNeverPush() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        outboxDispatcher.schedule(List.of(savedDto));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void poll_ShouldRedeliverStaleEntriesAndPurgeThem() {
+        // Arrange
+        Notification notification = TestDataFactory.createNotification();
+        notification.setId(42L);
+        OutboxEvent stale = OutboxEvent.builder()
+                .id(7L)
+                .notificationId(42L)
+                .recipientId(TestDataFactory.TEST_USER_ID)
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(outboxEventRepository.findByCreatedAtBeforeOrderByCreatedAtAsc(any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(List.of(stale));
+        when(notificationRepository.findAllById(List.of(42L))).thenReturn(List.of(notification));
+        when(outboxEventRepository.findFirstByOrderByCreatedAtAsc()).thenReturn(Optional.of(stale));
+
+        // Act
+        outboxDispatcher.poll();
+
+        // Assert - the push goes through the delivery scheduler, so it is purged by a later poll
+        verify(messagingTemplate, timeout(1000)).convertAndSend(
+                eq("/topic/notifications/" + TestDataFactory.TEST_USER_ID), any(NotificationDto.class));
+        await().untilAsserted(() ->
+                assertEquals(1.0, meterRegistry.counter("notification.outbox.redelivered").count()));
+        outboxDispatcher.poll();
+        verify(outboxEventRepository, atLeastOnce()).deleteAllByIdInBatch(List.of(7L));
+        double lag = meterRegistry.get("notification.outbox.lag").gauge().value();
+        assertTrue(lag >= Duration.ofMinutes(1).toSeconds());
+    }
+
+    @Test
+    void schedule_WhenDeliveryQueueRejects_ShouldCountRejectionNotFailure() {
+        // Arrange
+        DeliveryScheduler fullScheduler = mock(DeliveryScheduler.class);
+        when(fullScheduler.submit(anyString(), any(NotificationDto.class))).thenReturn(
+                CompletableFuture.failedFuture(new RejectedExecutionException("Delivery queue for INFO is full")),
+                CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, notificationRepository,
+                fullScheduler, new NotificationProperties(), meterRegistry);
+        NotificationDto other = TestDataFactory.createNotificationDto();
+        other.setId(43L);
+
+        try {
+            // Act
+            dispatcher.schedule(List.of(savedDto));
+            await().untilAsserted(() ->
+                    assertEquals(1.0, meterRegistry.counter("notification.outbox.dispatch.rejected").count()));
+            dispatcher.schedule(List.of(other));
+
+            // Assert
+            await().untilAsserted(() ->
+                    assertEquals(1.0, meterRegistry.counter("notification.outbox.dispatch.failed").count()));
+            assertEquals(1.0, meterRegistry.counter("notification.outbox.dispatch.rejected").count());
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientRateLimiterTest {
+
+    private NotificationProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getRateLimit().setRatePerSecond(1);
+        properties.getRateLimit().setBurst(3);
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenThrottle() {
+        // Arrange
+        RecipientRateLimiter limiter = new RecipientRateLimiter(properties);
+
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user-1"));
+        }
+        assertFalse(limiter.tryAcquire("user-1"));
+        assertTrue(limiter.retryAfter("user-1").toMillis() > 0);
+        assertTrue(limiter.tryAcquire("user-2"));
+    }
+
+    @Test
+    void tryAcquire_WhenFull_ShouldStayBounded() {
+        // Arrange
+        properties.getRateLimit().setMaxEntries(100);
+        RecipientRateLimiter limiter = new RecipientRateLimiter(properties);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("user-" + i);
+        }
+
+        // Assert
+        assertTrue(limiter.size() <= 100, "tracked " + limiter.size());
+    }
+
+    @Test
+    void drainDigests_ShouldGroupPerRecipientWithMostSevereType() {
+        // Arrange
+        RecipientRateLimiter limiter = new RecipientRateLimiter(properties);
+        limiter.fold(notification(Notification.NotificationType.INFO));
+        limiter.fold(notification(Notification.NotificationType.ERROR));
+        limiter.fold(notification(Notification.NotificationType.SUCCESS));
+
+        // Act
+        List<RecipientRateLimiter.Digest> digests = limiter.drainDigests();
+
+        // Assert
+        assertEquals(1, digests.size());
+        assertEquals(3, digests.get(0).getCount());
+        NotificationDto digest = digests.get(0).toNotification();
+        assertEquals(TestDataFactory.TEST_USER_ID, digest.getRecipientId());
+        assertEquals(Notification.NotificationType.ERROR, digest.getType());
+        assertEquals("You have 3 more notifications", digest.getTitle());
+        assertTrue(limiter.drainDigests().isEmpty());
+    }
+
+    private static NotificationDto notification(Notification.NotificationType type) {
+        NotificationDto notification = TestDataFactory.createNotificationDto();
+        notification.setType(type);
+        return notification;
+    }
+}
@@ -0,0 +1,134 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.repository.NotificationTemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionJobTest {
+
+    private static final Notification.NotificationStatus READ = Notification.NotificationStatus.READ;
+    private static final Notification.NotificationStatus UNREAD = Notification.NotificationStatus.UNREAD;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationTemplateRepository templateRepository;
+
+    @Mock
+    private NotificationCache notificationCache;
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private UnreadCountPublisher unreadCountPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetentionJob retentionJob;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.getRetention().setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        retentionJob = new RetentionJob(notificationRepository, templateRepository, notificationCache,
+                unreadCountCache, unreadCountPublisher, properties, transactionManager, meterRegistry);
+    }
+
+    @Test
+    void archive_ShouldWorkInChunksUntilExhausted() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        when(notificationRepository.findRetentionCandidates(eq(READ), eq(cutoff), any(Limit.class)))
+                .thenReturn(List.of(candidate(1L, TestDataFactory.TEST_USER_ID), candidate(2L, TestDataFactory.TEST_USER_ID)))
+                .thenReturn(List.of(candidate(3L, TestDataFactory.TEST_USER_ID)));
+        when(notificationRepository.updateStatusWhereIdIn(any(), eq(READ), eq(Notification.NotificationStatus.ARCHIVED),
+                any(LocalDateTime.class))).thenReturn(2, 1);
+
+        // Act
+        int result = retentionJob.archive(cutoff);
+
+        // Assert
+        assertEquals(3, result);
+        verify(notificationRepository).updateStatusWhereIdIn(eq(List.of(1L, 2L)), eq(READ),
+                eq(Notification.NotificationStatus.ARCHIVED), any(LocalDateTime.class));
+        verify(notificationRepository).updateStatusWhereIdIn(eq(List.of(3L)), eq(READ),
+                eq(Notification.NotificationStatus.ARCHIVED), any(LocalDateTime.class));
+        verify(notificationCache).invalidate(List.of(1L, 2L));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.get("notification.retention.archived").counter().count());
+    }
+
+    @Test
+    void delete_Unread_ShouldAdjustUnreadCountsPerRecipient() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+        when(notificationRepository.findRetentionCandidates(eq(UNREAD), eq(cutoff), any(Limit.class)))
+                .thenReturn(List.of(candidate(1L, TestDataFactory.TEST_USER_ID), candidate(2L, "other-user")))
+                .thenReturn(List.of());
+        when(notificationRepository.deleteWhereIdIn(List.of(1L, 2L), UNREAD)).thenReturn(2);
+
+        // Act
+        int result = retentionJob.delete(UNREAD, cutoff);
+
+        // Assert
+        assertEquals(2, result);
+        verify(unreadCountCache).adjust(TestDataFactory.TEST_USER_ID, -1L);
+        verify(unreadCountCache).adjust("other-user", -1L);
+        verify(unreadCountPublisher).record("other-user", -1L);
+        verify(notificationCache).invalidate(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.get("notification.retention.deleted").counter().count());
+    }
+
+    @Test
+    void delete_Read_ShouldLeaveUnreadCountsAlone() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(180);
+        when(notificationRepository.findRetentionCandidates(eq(READ), eq(cutoff), any(Limit.class)))
+                .thenReturn(List.of(candidate(1L, TestDataFactory.TEST_USER_ID)));
+        when(notificationRepository.deleteWhereIdIn(List.of(1L), READ)).thenReturn(1);
+
+        // Act
+        retentionJob.delete(READ, cutoff);
+
+        // Assert
+        verifyNoInteractions(unreadCountCache, unreadCountPublisher);
+    }
+
+    private static NotificationRepository.RetentionCandidate candidate(Long id, String recipientId) {
+        return new NotificationRepository.RetentionCandidate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.model.Notification;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountCacheTest {
+
+    private static final Notification.NotificationStatus UNREAD = Notification.NotificationStatus.UNREAD;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationProperties properties;
+    private UnreadCountCache unreadCountCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        unreadCountCache = new UnreadCountCache(notificationRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_ShouldSeedFromDatabaseOnlyOnce() {
+        // Arrange
+        when(notificationRepository.countByRecipientIdAndStatus(TestDataFactory.TEST_USER_ID, UNREAD)).thenReturn(3L);
+
+        // Act
+        unreadCountCache.get(TestDataFactory.TEST_USER_ID);
+        unreadCountCache.adjust(TestDataFactory.TEST_USER_ID, 2);
+        unreadCountCache.adjust(TestDataFactory.TEST_USER_ID, -1);
+        long result = unreadCountCache.get(TestDataFactory.TEST_USER_ID);
+
+        // Assert
+        assertEquals(4L, result);
+        verify(notificationRepository, times(1)).countByRecipientIdAndStatus(TestDataFactory.TEST_USER_ID, UNREAD);
+    }
+
+    @Test
+    void adjust_WhenNotCached_ShouldNotCreateCounter() {
+        // Act
+        unreadCountCache.adjust(TestDataFactory.TEST_USER_ID, 1);
+
+        // Assert
+        assertEquals(0, unreadCountCache.size());
+    }
+
+    @Test
+    void get_WhenFull_ShouldStayBounded() {
+        // Arrange
+        properties.getUnreadCounts().setMaxEntries(10);
+        unreadCountCache = new UnreadCountCache(notificationRepository, properties, new SimpleMeterRegistry());
+        when(notificationRepository.countByRecipientIdAndStatus(anyString(), eq(UNREAD))).thenReturn(0L);
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            unreadCountCache.get("user-" + i);
+        }
+
+        // Assert
+        assertTrue(unreadCountCache.size() <= 10);
+    }
+
+    @Test
+    void reconcile_ShouldResetCountersToDatabaseValue() {
+        // Arrange
+        when(notificationRepository.countByRecipientIdAndStatus(TestDataFactory.TEST_USER_ID, UNREAD)).thenReturn(1L);
+        unreadCountCache.get(TestDataFactory.TEST_USER_ID);
+        unreadCountCache.adjust(TestDataFactory.TEST_USER_ID, 10);
+
+        NotificationRepository.RecipientCount count = mock(NotificationRepository.RecipientCount.class);
+        when(count.getRecipientId()).thenReturn(TestDataFactory.TEST_USER_ID);
+        when(count.getCount()).thenReturn(7L);
+        when(notificationRepository.countUnreadByRecipientIds(List.of(TestDataFactory.TEST_USER_ID), UNREAD))
+                .thenReturn(List.of(count));
+
+        // Act
+        unreadCountCache.reconcile();
+
+        // Assert
+        assertEquals(7L, unreadCountCache.get(TestDataFactory.TEST_USER_ID));
+    }
+}
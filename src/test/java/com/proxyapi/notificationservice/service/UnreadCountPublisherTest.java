@@ -0,0 +1,120 @@
+package com.proxyapi.notificationservice.service;
+
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.UnreadCountUpdate;
+import com.proxyapi.notificationservice.repository.NotificationRepository;
+import com.proxyapi.notificationservice.websocket.DestinationIndexedSubscriptionRegistry;
+import com.proxyapi.notificationservice.websocket.LocalNotificationFanout;
+import com.proxyapi.notificationservice.websocket.ReplayBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static com.proxyapi.notificationservice.model.Notification.NotificationStatus.UNREAD;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountPublisherTest {
+
+    private static final String DESTINATION = "/topic/notifications/" + TestDataFactory.TEST_USER_ID + "/unread";
+
+    @Mock
+    private UnreadCountCache unreadCountCache;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private DestinationIndexedSubscriptionRegistry subscriptionRegistry;
+
+    private NotificationProperties properties;
+    private UnreadCountPublisher unreadCountPublisher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        unreadCountPublisher = new UnreadCountPublisher(unreadCountCache, notificationRepository,
+                new LocalNotificationFanout(messagingTemplate, mock(ReplayBuffer.class), subscriptionRegistry),
+                properties);
+    }
+
+    @Test
+    void flush_ShouldCoalesceBurstIntoSingleFrame() {
+        // Arrange
+        when(subscriptionRegistry.hasSubscriptions(DESTINATION)).thenReturn(true);
+        when(unreadCountCache.peek(TestDataFactory.TEST_USER_ID)).thenReturn(OptionalLong.of(499L));
+        for (int i = 0; i < 500; i++) {
+            unreadCountPublisher.record(TestDataFactory.TEST_USER_ID, 1);
+        }
+        unreadCountPublisher.record(TestDataFactory.TEST_USER_ID, -1);
+
+        // Act
+        unreadCountPublisher.flush();
+        unreadCountPublisher.flush();
+
+        // Assert
+        verify(messagingTemplate, times(1)).convertAndSend(DESTINATION, new UnreadCountUpdate(499L, 499L));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void flush_UncachedRecipients_ShouldCountInOneQueryWithoutSeedingCache() {
+        // Arrange
+        when(subscriptionRegistry.hasSubscriptions(anyString())).thenReturn(true);
+        when(unreadCountCache.peek(anyString())).thenReturn(OptionalLong.empty());
+        NotificationRepository.RecipientCount count = mock(NotificationRepository.RecipientCount.class);
+        when(count.getRecipientId()).thenReturn("user-1");
+        when(count.getCount()).thenReturn(3L);
+        when(notificationRepository.countUnreadByRecipientIds(anyCollection(), eq(UNREAD))).thenReturn(List.of(count));
+        unreadCountPublisher.record("user-1", 1);
+        unreadCountPublisher.record("user-2", 1);
+
+        // Act
+        unreadCountPublisher.flush();
+
+        // Assert
+        verify(notificationRepository, times(1)).countUnreadByRecipientIds(anyCollection(), eq(UNREAD));
+        verify(unreadCountCache, never()).get(anyString());
+        verify(messagingTemplate).convertAndSend("/topic/notifications/user-1/unread", new UnreadCountUpdate(3L, 1L));
+        verify(messagingTemplate).convertAndSend("/topic/notifications/user-2/unread", new UnreadCountUpdate(0L, 1L));
+    }
+
+    @Test
+    void flush_WithoutSubscribers_ShouldNeitherCountNorPush() {
+        // Arrange
+        unreadCountPublisher.record(TestDataFactory.TEST_USER_ID, 1);
+
+        // Act
+        unreadCountPublisher.flush();
+
+        // Assert
+        verifyNoInteractions(notificationRepository, unreadCountCache);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void record_WhenDisabled_ShouldNotPush() {
+        // Arrange
+        properties.getUnreadPush().setEnabled(false);
+
+        // Act
+        unreadCountPublisher.record(TestDataFactory.TEST_USER_ID, 1);
+        unreadCountPublisher.flush();
+
+        // Assert
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+}
@@ -0,0 +1,128 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompactFormatInterceptorTest {
+
+    private static final String DESTINATION = "/topic/notifications/user-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MessageChannel channel = (message, timeout) -> true;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompactFormatInterceptor interceptor;
+    private NotificationDto notification;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new CompactFormatInterceptor(new NotificationProperties(), objectMapper, meterRegistry);
+        notification = TestDataFactory.createNotificationDto();
+        notification.setId(42L);
+    }
+
+    @Test
+    void preSend_ForCompactSubscription_ShouldReencodeNotificationFrames() throws Exception {
+        // Arrange
+        interceptor.preSend(subscribe("sub-0", CompactNotificationCodec.MIME_TYPE.toString()), channel);
+        byte[] json = objectMapper.writeValueAsBytes(notification);
+
+        // Act
+        Message<?> result = interceptor.preSend(frame("sub-0", json, null), channel);
+
+        // Assert
+        assertEquals(CompactNotificationCodec.MIME_TYPE, SimpMessageHeaderAccessor.wrap(result).getContentType());
+        NotificationDto decoded = CompactNotificationCodec.decode((byte[]) result.getPayload());
+        assertEquals(42L, decoded.getId());
+        assertEquals(TestDataFactory.TEST_TITLE, decoded.getTitle());
+        assertEquals(json.length, meterRegistry.get("notification.websocket.payload.bytes")
+                .tag("format", "json").summary().totalAmount());
+    }
+
+    @Test
+    void preSend_WithSharedCompactPayload_ShouldEncodeOnceForAllSubscriptions() throws Exception {
+        // Arrange
+        interceptor.preSend(subscribe("sub-0", CompactNotificationCodec.MIME_TYPE.toString()), channel);
+        interceptor.preSend(subscribe("sub-1", CompactNotificationCodec.MIME_TYPE.toString()), channel);
+        byte[] json = objectMapper.writeValueAsBytes(notification);
+        CompactPayload shared = CompactPayload.of(notification);
+
+        // Act
+        Message<?> first = interceptor.preSend(withCompactPayload(frame("sub-0", json, null), shared), channel);
+        Message<?> second = interceptor.preSend(withCompactPayload(frame("sub-1", json, null), shared), channel);
+
+        // Assert
+        assertSame(first.getPayload(), second.getPayload());
+        assertEquals(42L, CompactNotificationCodec.decode((byte[]) first.getPayload()).getId());
+        assertNull(first.getHeaders().get(CompactPayload.HEADER));
+    }
+
+    @Test
+    void preSend_ForJsonSubscriptionOrSummary_ShouldPassThrough() throws Exception {
+        // Arrange
+        interceptor.preSend(subscribe("sub-0", "application/json"), channel);
+        interceptor.preSend(subscribe("sub-1", CompactNotificationCodec.MIME_TYPE.toString()), channel);
+        byte[] json = objectMapper.writeValueAsBytes(notification);
+        Message<byte[]> jsonFrame = frame("sub-0", json, null);
+        Message<byte[]> summary = frame("sub-1", json, SlowConsumerInterceptor.SUMMARY_HEADER);
+
+        // Act & Assert
+        assertSame(jsonFrame, interceptor.preSend(jsonFrame, channel));
+        assertSame(summary, interceptor.preSend(summary, channel));
+    }
+
+    @Test
+    void preSend_AfterUnsubscribe_ShouldSendJson() throws Exception {
+        // Arrange
+        interceptor.preSend(subscribe("sub-0", CompactNotificationCodec.MIME_TYPE.toString()), channel);
+        SimpMessageHeaderAccessor unsubscribe = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        unsubscribe.setSessionId("session-1");
+        unsubscribe.setSubscriptionId("sub-0");
+        interceptor.preSend(MessageBuilder.createMessage(new byte[0], unsubscribe.getMessageHeaders()), channel);
+        Message<byte[]> frame = frame("sub-0", objectMapper.writeValueAsBytes(notification), null);
+
+        // Act & Assert
+        assertSame(frame, interceptor.preSend(frame, channel));
+    }
+
+    private static Message<byte[]> subscribe(String subscriptionId, String accept) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(DESTINATION);
+        accessor.setNativeHeader(CompactFormatInterceptor.ACCEPT_HEADER, accept);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> withCompactPayload(Message<byte[]> frame, CompactPayload compactPayload) {
+        return MessageBuilder.fromMessage(frame).setHeader(CompactPayload.HEADER, compactPayload).build();
+    }
+
+    private static Message<byte[]> frame(String subscriptionId, byte[] payload, String marker) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(DESTINATION);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (marker != null) {
+            accessor.setNativeHeader(marker, "true");
+        }
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,76 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.model.Notification;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactNotificationCodecTest {
+
+    @Test
+    void decode_ShouldRoundTripAllFieldsAtMillisecondPrecision() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000);
+        NotificationDto notification = TestDataFactory.createNotificationDto();
+        notification.setId(1_234_567L);
+        notification.setTitle("Grüße 👋");
+        notification.setStatus(Notification.NotificationStatus.ARCHIVED);
+        notification.setType(Notification.NotificationType.SUCCESS);
+        notification.setCreatedAt(createdAt);
+        notification.setUpdatedAt(createdAt.plusDays(1));
+        notification.setDedupKey("order-100234");
+
+        // Act
+        byte[] encoded = CompactNotificationCodec.encode(notification);
+        NotificationDto result = CompactNotificationCodec.decode(encoded);
+
+        // Assert
+        assertEquals(1_234_567L, result.getId());
+        assertEquals("Grüße 👋", result.getTitle());
+        assertEquals(TestDataFactory.TEST_MESSAGE, result.getMessage());
+        assertEquals(TestDataFactory.TEST_USER_ID, result.getRecipientId());
+        assertEquals(Notification.NotificationStatus.ARCHIVED, result.getStatus());
+        assertEquals(Notification.NotificationType.SUCCESS, result.getType());
+        assertEquals(createdAt.withNano(589_000_000), result.getCreatedAt());
+        assertEquals(createdAt.plusDays(1).withNano(589_000_000), result.getUpdatedAt());
+        assertEquals("order-100234", result.getDedupKey());
+        assertTrue(encoded.length < new ObjectMapper().findAndRegisterModules().writeValueAsBytes(notification).length);
+    }
+
+    @Test
+    void decode_ShouldLeaveAbsentFieldsNull() {
+        // Arrange
+        NotificationDto notification = NotificationDto.builder().title("Only a title").build();
+
+        // Act
+        NotificationDto result = CompactNotificationCodec.decode(CompactNotificationCodec.encode(notification));
+
+        // Assert
+        assertEquals("Only a title", result.getTitle());
+        assertNull(result.getId());
+        assertNull(result.getType());
+        assertNull(result.getCreatedAt());
+    }
+
+    @Test
+    void decode_WithTruncatedOrUnknownVersion_ShouldThrow() {
+        // Arrange
+        byte[] encoded = CompactNotificationCodec.encode(TestDataFactory.createNotificationDto());
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = 9;
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> CompactNotificationCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> CompactNotificationCodec.decode(unknownVersion));
+    }
+}
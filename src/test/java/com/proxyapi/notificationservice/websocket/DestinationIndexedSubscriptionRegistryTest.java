@@ -0,0 +1,145 @@
+package com.proxyapi.notificationservice.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DestinationIndexedSubscriptionRegistryTest {
+
+    private static final int SUBSCRIBERS = 50_000;
+
+    private DestinationIndexedSubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DestinationIndexedSubscriptionRegistry();
+    }
+
+    @Test
+    void findSubscriptions_With50kSubscribers_ShouldReturnOnlyExactMatch() {
+        // Arrange
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            registry.registerSubscription(subscribe("session-" + i, "sub-0", "/topic/notifications/user-" + i));
+        }
+
+        // Act
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/notifications/user-4242"));
+
+        // Assert
+        assertEquals(SUBSCRIBERS, registry.getSessionCount());
+        assertEquals(1, result.size());
+        assertEquals(List.of("sub-0"), result.get("session-4242"));
+    }
+
+    @Test
+    void findSubscriptions_ShouldIncludePatternSubscriptions() {
+        // Arrange
+        registry.registerSubscription(subscribe("session-1", "sub-0", "/topic/notifications/user-1"));
+        registry.registerSubscription(subscribe("session-2", "sub-0", "/topic/notifications/*"));
+
+        // Act
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/notifications/user-1"));
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.containsKey("session-2"));
+    }
+
+    @Test
+    void unregisterAllSubscriptions_ShouldRemoveEverySubscriptionOfSession() {
+        // Arrange
+        registry.registerSubscription(subscribe("session-1", "sub-0", "/topic/notifications/user-1"));
+        registry.registerSubscription(subscribe("session-1", "sub-1", "/topic/notifications/user-1/unread"));
+
+        // Act
+        registry.unregisterAllSubscriptions("session-1");
+
+        // Assert
+        assertFalse(registry.hasSubscriptions("/topic/notifications/user-1"));
+        assertTrue(registry.findSubscriptions(message("/topic/notifications/user-1/unread")).isEmpty());
+        assertEquals(0, registry.getSubscriptionCount());
+    }
+
+    @Test
+    void unregisterSubscription_ShouldKeepOtherSessionsOnSameDestination() {
+        // Arrange
+        registry.registerSubscription(subscribe("session-1", "sub-0", "/topic/notifications/user-1"));
+        registry.registerSubscription(subscribe("session-2", "sub-0", "/topic/notifications/user-1"));
+
+        // Act
+        registry.unregisterSubscription(unsubscribe("session-1", "sub-0"));
+
+        // Assert
+        MultiValueMap<String, String> result = registry.findSubscriptions(message("/topic/notifications/user-1"));
+        assertEquals(1, result.size());
+        assertTrue(result.containsKey("session-2"));
+    }
+
+    @Test
+    void registerSubscription_WhileAnotherSessionLeavesSameDestination_ShouldNotBeLost() throws Exception {
+        // Arrange
+        String destination = "/topic/notifications/user-1";
+        int rounds = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        try {
+            Future<?> churn = executor.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    registry.registerSubscription(subscribe("leaving", "sub-" + i, destination));
+                    registry.unregisterSubscription(unsubscribe("leaving", "sub-" + i));
+                }
+            });
+            Future<Integer> lost = executor.submit(() -> {
+                int missing = 0;
+                for (int i = 0; i < rounds; i++) {
+                    registry.registerSubscription(subscribe("joining", "sub-" + i, destination));
+                    if (!registry.findSubscriptions(message(destination)).containsKey("joining")) {
+                        missing++;
+                    }
+                    registry.unregisterSubscription(unsubscribe("joining", "sub-" + i));
+                }
+                return missing;
+            });
+            churn.get(30, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(0, lost.get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
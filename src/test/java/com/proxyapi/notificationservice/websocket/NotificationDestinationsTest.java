@@ -0,0 +1,26 @@
+package com.proxyapi.notificationservice.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDestinationsTest {
+
+    @Test
+    void isInbox_ShouldAcceptOnlyRecipientInboxes() {
+        // Act & Assert
+        assertTrue(NotificationDestinations.isInbox(NotificationDestinations.inbox("user-1")));
+        assertFalse(NotificationDestinations.isInbox(NotificationDestinations.unread("user-1")));
+        assertFalse(NotificationDestinations.isInbox(NotificationDestinations.PREFIX));
+        assertFalse(NotificationDestinations.isInbox("/topic/other/user-1"));
+        assertFalse(NotificationDestinations.isInbox(null));
+    }
+
+    @Test
+    void recipientOf_ShouldReturnRecipientOfInbox() {
+        // Act & Assert
+        assertEquals("user-1", NotificationDestinations.recipientOf(NotificationDestinations.inbox("user-1")));
+    }
+}
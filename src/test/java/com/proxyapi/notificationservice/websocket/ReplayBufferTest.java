@@ -0,0 +1,82 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayBufferTest {
+
+    private static final String DESTINATION = "/topic/notifications/user-1";
+
+    private NotificationProperties properties;
+    private ReplayBuffer replayBuffer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getWebsocket().getReplay().setBufferSize(3);
+        replayBuffer = new ReplayBuffer(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void since_ShouldReturnPayloadsAfterLastSeenInPushOrder() {
+        // Arrange
+        record(DESTINATION, 10L, 11L, 12L);
+
+        // Act
+        List<String> result = decode(replayBuffer.since(DESTINATION, 10L).orElseThrow());
+
+        // Assert
+        assertEquals(List.of("11", "12"), result);
+        assertTrue(replayBuffer.since(DESTINATION, 12L).orElseThrow().isEmpty());
+    }
+
+    @Test
+    void since_WhenLastSeenRolledOver_ShouldBeEmpty() {
+        // Arrange
+        record(DESTINATION, 10L, 11L, 12L, 13L);
+
+        // Act & Assert
+        assertTrue(replayBuffer.since(DESTINATION, 10L).isEmpty());
+        assertEquals(List.of("12", "13"), decode(replayBuffer.since(DESTINATION, 11L).orElseThrow()));
+        assertTrue(replayBuffer.since("/topic/notifications/user-2", 11L).isEmpty());
+    }
+
+    @Test
+    void record_OverMemoryCap_ShouldEvictWholeDestinations() {
+        // Arrange
+        properties.getWebsocket().getReplay().setMaxMemory(DataSize.ofBytes(10));
+        replayBuffer = new ReplayBuffer(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        record("/topic/notifications/first", 10L, 11L, 12L);
+
+        // Act
+        record("/topic/notifications/second", 13L, 14L, 15L);
+
+        // Assert
+        assertEquals(6, replayBuffer.bytes());
+        assertTrue(replayBuffer.since("/topic/notifications/first", 10L).isPresent()
+                ^ replayBuffer.since("/topic/notifications/second", 13L).isPresent());
+    }
+
+    private void record(String destination, long... ids) {
+        for (long id : ids) {
+            replayBuffer.record(destination, id, String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> decode(List<byte[]> payloads) {
+        return payloads.stream()
+                .map(payload -> new String(payload, StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+}
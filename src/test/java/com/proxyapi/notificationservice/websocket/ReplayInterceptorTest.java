@@ -0,0 +1,137 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.TestDataFactory;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationDto;
+import com.proxyapi.notificationservice.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayInterceptorTest {
+
+    private static final String DESTINATION = "/topic/notifications/user-1";
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private SimpleBrokerMessageHandler brokerHandler;
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private final MessageChannel outboundChannel = (message, timeout) -> sent.add(message);
+
+    private NotificationProperties properties;
+    private ReplayBuffer replayBuffer;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplayInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getWebsocket().getReplay().setBufferSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        replayBuffer = new ReplayBuffer(properties, objectMapper, meterRegistry);
+        interceptor = new ReplayInterceptor(replayBuffer, notificationService, outboundChannel, objectMapper,
+                properties, meterRegistry);
+    }
+
+    @Test
+    void subscribe_WithBufferedLastSeenId_ShouldReplayFromBuffer() {
+        // Arrange
+        replayBuffer.record(DESTINATION, 10L, "{\"id\":10}".getBytes(StandardCharsets.UTF_8));
+        replayBuffer.record(DESTINATION, 11L, "{\"id\":11}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        interceptor.afterMessageHandled(subscribe(DESTINATION, "10"), outboundChannel, brokerHandler, null);
+
+        // Assert
+        assertEquals(1, sent.size());
+        SimpMessageHeaderAccessor frame = SimpMessageHeaderAccessor.wrap(sent.get(0));
+        assertEquals("session-1", frame.getSessionId());
+        assertEquals("sub-0", frame.getSubscriptionId());
+        assertEquals("true", frame.getFirstNativeHeader(ReplayInterceptor.REPLAY_HEADER));
+        assertEquals("{\"id\":11}", new String((byte[]) sent.get(0).getPayload(), StandardCharsets.UTF_8));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void subscribe_WithUnbufferedLastSeenId_ShouldReplayFromDatabase() {
+        // Arrange
+        NotificationDto missed = TestDataFactory.createNotificationDto();
+        missed.setId(12L);
+        when(notificationService.getNotificationsAfter("user-1", 10L, 3)).thenReturn(Optional.of(List.of(missed)));
+
+        // Act
+        interceptor.afterMessageHandled(subscribe(DESTINATION, "10"), outboundChannel, brokerHandler, null);
+
+        // Assert
+        assertEquals(1, sent.size());
+        assertTrue(new String((byte[]) sent.get(0).getPayload(), StandardCharsets.UTF_8).contains("\"id\":12"));
+        assertEquals(1.0, meterRegistry.get("notification.websocket.replays").tag("source", "database").counter().count());
+    }
+
+    @Test
+    void subscribe_WhenTooManyMissed_ShouldSendSummary() {
+        // Arrange
+        when(notificationService.getNotificationsAfter("user-1", 10L, 3)).thenReturn(Optional.of(List.of(
+                TestDataFactory.createNotificationDto(),
+                TestDataFactory.createNotificationDto(),
+                TestDataFactory.createNotificationDto())));
+
+        // Act
+        interceptor.afterMessageHandled(subscribe(DESTINATION, "10"), outboundChannel, brokerHandler, null);
+
+        // Assert
+        assertEquals(1, sent.size());
+        assertEquals("true", SimpMessageHeaderAccessor.wrap(sent.get(0))
+                .getFirstNativeHeader(SlowConsumerInterceptor.SUMMARY_HEADER));
+    }
+
+    @Test
+    void subscribe_WithoutLastSeenIdOrToSubDestination_ShouldNotReplay() {
+        // Act
+        interceptor.afterMessageHandled(subscribe(DESTINATION, null), outboundChannel, brokerHandler, null);
+        interceptor.afterMessageHandled(subscribe(DESTINATION + "/unread", "10"), outboundChannel, brokerHandler, null);
+        interceptor.afterMessageHandled(subscribe(DESTINATION, "10"), outboundChannel, message -> { }, null);
+
+        // Assert
+        assertTrue(sent.isEmpty());
+        verify(notificationService, never()).getNotificationsAfter(anyString(), anyLong(), anyInt());
+    }
+
+    private static Message<byte[]> subscribe(String destination, String lastSeenId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        if (lastSeenId != null) {
+            accessor.setNativeHeader(ReplayInterceptor.LAST_SEEN_ID_HEADER, lastSeenId);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,165 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.web.socket.CloseStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class SessionOrderedExecutorTest {
+
+    private final SessionOrderedExecutor executor = new SessionOrderedExecutor(Executors.newFixedThreadPool(2), 10_000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_ShouldPreservePerSessionOrder() throws InterruptedException {
+        // Arrange
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            int sequence = i;
+            executor.execute(task("session-1", () -> {
+                delivered.add(sequence);
+                done.countDown();
+            }));
+        }
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), delivered);
+    }
+
+    @Test
+    void execute_WhenSessionQueueFull_ShouldReject() throws InterruptedException {
+        // Arrange
+        SessionOrderedExecutor bounded = new SessionOrderedExecutor(Executors.newFixedThreadPool(2), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+        try {
+            bounded.execute(task("session-1", () -> await(release)));
+            bounded.execute(task("session-1", () -> { }));
+
+            // Act & Assert
+            assertThrows(RejectedExecutionException.class, () -> bounded.execute(task("session-1", () -> { })));
+            bounded.execute(task("session-2", other::countDown));
+            assertTrue(other.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void stalledSession_WithTerminatePolicy_ShouldBeClosedWhileOthersKeepReceiving() throws InterruptedException {
+        // Arrange
+        NotificationProperties properties = new NotificationProperties();
+        properties.getWebsocket().getSlowConsumer().setPolicy(SlowConsumerInterceptor.Policy.TERMINATE);
+        properties.getWebsocket().getTransport().setSendTimeLimit(Duration.ofMillis(50));
+        WebSocketSessionTracker sessionTracker = mock(WebSocketSessionTracker.class);
+        SlowConsumerInterceptor interceptor = new SlowConsumerInterceptor(properties, new ObjectMapper(),
+                sessionTracker, new SimpleMeterRegistry());
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel(executor);
+        channel.addInterceptor(interceptor);
+        CountDownLatch socketStalled = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch healthyReceived = new CountDownLatch(100);
+        channel.subscribe(message -> {
+            if ("stalled".equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+                socketStalled.countDown();
+                await(unblock);
+            } else {
+                healthyReceived.countDown();
+            }
+        });
+
+        try {
+            channel.send(frame("stalled"));
+            assertTrue(socketStalled.await(5, TimeUnit.SECONDS));
+
+            // Act
+            for (int i = 0; i < 50; i++) {
+                channel.send(frame("healthy"));
+            }
+            Thread.sleep(100);
+            channel.send(frame("stalled"));
+            for (int i = 0; i < 50; i++) {
+                channel.send(frame("healthy"));
+            }
+
+            // Assert
+            verify(sessionTracker, timeout(5_000)).close("stalled", CloseStatus.SESSION_NOT_RELIABLE);
+            assertTrue(healthyReceived.await(5, TimeUnit.SECONDS));
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Message<byte[]> frame(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination("/topic/notifications/" + sessionId);
+        return MessageBuilder.createMessage(new byte[16], accessor.getMessageHeaders());
+    }
+
+    private static MessageHandlingRunnable task(String sessionId, Runnable action) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new MessageHandlingRunnable() {
+            @Override
+            public Message<?> getMessage() {
+                return message;
+            }
+
+            @Override
+            public MessageHandler getMessageHandler() {
+                return m -> action.run();
+            }
+
+            @Override
+            public void run() {
+                action.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.proxyapi.notificationservice.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxyapi.notificationservice.config.NotificationProperties;
+import com.proxyapi.notificationservice.dto.NotificationSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class SlowConsumerInterceptorTest {
+
+    private static final String DESTINATION = "/topic/notifications/user-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final MessageChannel channel = (message, timeout) -> sent.add(message);
+    private final WebSocketSessionTracker sessionTracker = mock(WebSocketSessionTracker.class);
+
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SlowConsumerInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getWebsocket().getSlowConsumer().setHighWatermark(3);
+        properties.getWebsocket().getSlowConsumer().setLowWatermark(1);
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new SlowConsumerInterceptor(properties, objectMapper, sessionTracker, meterRegistry);
+    }
+
+    @Test
+    void preSend_AboveHighWatermark_ShouldCoalesceIntoSummaryOnceDrained() throws Exception {
+        // Arrange
+        List<Message<?>> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(interceptor.preSend(frame("session-1"), channel));
+        }
+
+        // Act
+        Message<?> suppressed1 = interceptor.preSend(frame("session-1"), channel);
+        Message<?> suppressed2 = interceptor.preSend(frame("session-1"), channel);
+        queued.forEach(message -> interceptor.afterMessageHandled(message, channel, m -> { }, null));
+
+        // Assert
+        assertNull(suppressed1);
+        assertNull(suppressed2);
+        assertEquals(1, sent.size());
+        SimpMessageHeaderAccessor summary = SimpMessageHeaderAccessor.wrap(sent.get(0));
+        assertEquals("session-1", summary.getSessionId());
+        assertEquals("sub-0", summary.getSubscriptionId());
+        assertEquals(DESTINATION, summary.getDestination());
+        assertNotNull(summary.getFirstNativeHeader(SlowConsumerInterceptor.SUMMARY_HEADER));
+        NotificationSummary payload = objectMapper.readValue(
+                (byte[]) sent.get(0).getPayload(), NotificationSummary.class);
+        assertEquals(2, payload.getMissedCount());
+        assertEquals(2.0, meterRegistry.counter("notification.websocket.outbound.suppressed").count());
+    }
+
+    @Test
+    void preSend_WithTerminatePolicy_ShouldNeverSuppress() {
+        // Arrange
+        properties.getWebsocket().getSlowConsumer().setPolicy(SlowConsumerInterceptor.Policy.TERMINATE);
+        interceptor = new SlowConsumerInterceptor(properties, objectMapper, sessionTracker, new SimpleMeterRegistry());
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(interceptor.preSend(frame("session-1"), channel));
+        }
+        assertEquals(10, interceptor.topSessions(1).get(0).pending());
+    }
+
+    @Test
+    void preSend_WithTerminatePolicyOverBufferLimit_ShouldCloseSession() {
+        // Arrange
+        properties.getWebsocket().getSlowConsumer().setPolicy(SlowConsumerInterceptor.Policy.TERMINATE);
+        properties.getWebsocket().getTransport().setSendBufferSizeLimit(10);
+        interceptor = new SlowConsumerInterceptor(properties, objectMapper, sessionTracker, meterRegistry);
+        Message<?> queued = interceptor.preSend(frame("session-1", DESTINATION, new byte[8]), channel);
+        interceptor.afterSendCompletion(queued, channel, true, null);
+
+        // Act
+        Message<?> overLimit = interceptor.preSend(frame("session-1", DESTINATION, new byte[8]), channel);
+
+        // Assert
+        assertNotNull(queued);
+        assertNull(overLimit);
+        verify(sessionTracker).close("session-1", CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.counter("notification.websocket.outbound.terminated").count());
+    }
+
+    @Test
+    void terminateStalled_WhenFrameWritingPastSendTimeLimit_ShouldCloseSession() throws InterruptedException {
+        // Arrange
+        properties.getWebsocket().getSlowConsumer().setPolicy(SlowConsumerInterceptor.Policy.TERMINATE);
+        properties.getWebsocket().getTransport().setSendTimeLimit(Duration.ofMillis(20));
+        interceptor = new SlowConsumerInterceptor(properties, objectMapper, sessionTracker, meterRegistry);
+        Message<?> stalled = interceptor.preSend(frame("session-1"), channel);
+        Message<?> written = interceptor.preSend(frame("session-2"), channel);
+        interceptor.beforeHandle(stalled, channel, m -> { });
+        interceptor.beforeHandle(written, channel, m -> { });
+        interceptor.afterMessageHandled(written, channel, m -> { }, null);
+        Thread.sleep(50);
+
+        // Act
+        interceptor.terminateStalled();
+
+        // Assert
+        verify(sessionTracker).close("session-1", CloseStatus.SESSION_NOT_RELIABLE);
+        verify(sessionTracker, never()).close("session-2", CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void afterSendCompletion_WhenNotSent_ShouldReleaseQueuedFrame() {
+        // Arrange
+        Message<?> message = interceptor.preSend(frame("session-1"), channel);
+
+        // Act
+        interceptor.afterSendCompletion(message, channel, false, null);
+
+        // Assert
+        assertEquals(0, interceptor.topSessions(1).get(0).pending());
+        assertEquals(0.0, meterRegistry.get("notification.websocket.outbound.pending").gauge().value());
+    }
+
+    @Test
+    void preSend_UnreadCountAboveHighWatermark_ShouldNotSuppress() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            interceptor.preSend(frame("session-1"), channel);
+        }
+
+        // Act
+        Message<?> unread = interceptor.preSend(frame("session-1", DESTINATION + "/unread"), channel);
+
+        // Assert
+        assertNotNull(unread);
+        assertEquals(0.0, meterRegistry.counter("notification.websocket.outbound.suppressed").count());
+    }
+
+    @Test
+    void preSend_DisconnectAckAfterSessionClosed_ShouldNotTrackSession() {
+        // Arrange
+        Message<?> message = interceptor.preSend(frame("session-1"), channel);
+        interceptor.afterMessageHandled(message, channel, m -> { }, null);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT_ACK);
+        accessor.setSessionId("session-1");
+        Message<byte[]> disconnectAck = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // Act
+        Message<?> result = interceptor.preSend(disconnectAck, channel);
+        interceptor.afterMessageHandled(result, channel, m -> { }, null);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(0, interceptor.getSessionCount());
+    }
+
+    @Test
+    void preSend_NonMessageFrame_ShouldNotTrackSession() {
+        // Arrange
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId("session-1");
+        Message<byte[]> connectAck = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        // Act
+        interceptor.preSend(connectAck, channel);
+
+        // Assert
+        assertEquals(0, interceptor.getSessionCount());
+    }
+
+    private static Message<byte[]> frame(String sessionId) {
+        return frame(sessionId, DESTINATION);
+    }
+
+    private static Message<byte[]> frame(String sessionId, String destination) {
+        return frame(sessionId, destination, new byte[0]);
+    }
+
+    private static Message<byte[]> frame(String sessionId, String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,82 @@
+package com.proxyapi.notificationservice.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WebSocketMetricsTest {
+
+    private final MessageChannel channel = (message, timeout) -> true;
+
+    private DestinationIndexedSubscriptionRegistry subscriptionRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRegistry = new DestinationIndexedSubscriptionRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new WebSocketMetrics(subscriptionRegistry, meterRegistry);
+    }
+
+    @Test
+    void sessionEvents_ShouldTrackConnectedSessions() {
+        // Arrange
+        Message<byte[]> connected = message(SimpMessageType.CONNECT_ACK, "session-1", null);
+
+        // Act
+        metrics.onSessionConnected(new SessionConnectedEvent(this, connected));
+        metrics.onSessionConnected(new SessionConnectedEvent(this, message(SimpMessageType.CONNECT_ACK, "session-2", null)));
+        metrics.onSessionDisconnect(new SessionDisconnectEvent(this, connected, "session-1", CloseStatus.NORMAL));
+        metrics.onSessionDisconnect(new SessionDisconnectEvent(this, connected, "session-1", CloseStatus.NORMAL));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("notification.websocket.sessions").gauge().value());
+    }
+
+    @Test
+    void subscriptionsGauge_ShouldReflectRegistry() {
+        // Act
+        subscriptionRegistry.registerSubscription(message(SimpMessageType.SUBSCRIBE, "session-1", "sub-0"));
+        subscriptionRegistry.registerSubscription(message(SimpMessageType.SUBSCRIBE, "session-1", "sub-1"));
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("notification.websocket.subscriptions").gauge().value());
+    }
+
+    @Test
+    void outboundFrames_ShouldCountSentAndFailed() {
+        // Arrange
+        Message<byte[]> frame = message(SimpMessageType.MESSAGE, "session-1", "sub-0");
+
+        // Act
+        metrics.afterSendCompletion(frame, channel, true, null);
+        metrics.afterMessageHandled(frame, channel, m -> { }, null);
+        metrics.afterSendCompletion(frame, channel, false, null);
+        metrics.afterMessageHandled(frame, channel, m -> { }, new IllegalStateException("closed"));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("notification.websocket.outbound.sent").counter().count());
+        assertEquals(2.0, meterRegistry.get("notification.websocket.outbound.failed").counter().count());
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+            accessor.setDestination("/topic/notifications/user-1");
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}